@@ -18,24 +18,70 @@ public class BinaryInsertion {
 	 *            the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		int length = a.length;
-		for (int i = 1; i < length; i++) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		for (int i = lo + 1; i < hi; i++) {
 			// binary search to determine index j at which to insert a[i]
 			Comparable v = a[i];
-			int lo = 0, hi = i;
-			while (lo < hi) {
-				int mid = lo + (hi - lo) / 2;
-				if (less(v, a[mid]))
-					hi = mid;
+			int left = lo, right = i;
+			while (left < right) {
+				int mid = left + (right - left) / 2;
+				if (less(metrics, v, a[mid]))
+					right = mid;
 				else
-					lo = mid + 1;
+					left = mid + 1;
 			}
 
 			// insertion sort with "half exchanges"
 			// (insert a[i] at index j and shift a[j], ..., a[i-1] to right)
-			for (int j = i; j > lo; --j)
+			for (int j = i; j > left; --j)
 				a[j] = a[j - 1];
-			a[lo] = v;
+			a[left] = v;
+			metrics.write(i - left + 1);
 		}
 	}
 
@@ -48,26 +94,77 @@ public class BinaryInsertion {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
-		int length = a.length;
-		for (int i = 1; i < length; i++) {
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		for (int i = lo + 1; i < hi; i++) {
 			// binary search to determine index j at which to insert a[i]
 			Object v = a[i];
-			int lo = 0, hi = 1;
-			while (lo < hi) {
-				int mid = lo + (hi - lo) / 2;
-				if (less(comparator, v, a[mid])) {
-					hi = mid;
+			int left = lo, right = i;
+			while (left < right) {
+				int mid = left + (right - left) / 2;
+				if (less(metrics, comparator, v, a[mid])) {
+					right = mid;
 				} else {
-					lo = mid + 1;
+					left = mid + 1;
 				}
 			}
 
 			// insertion sort with "half exchanges"
 			// (insert a[i] at index j and shift a[j],...,a[i-1] to right)
-			for (int j = i; j > lo; --j) {
+			for (int j = i; j > left; --j) {
 				a[j] = a[j - 1];
 			}
-			a[lo] = v;
+			a[left] = v;
+			metrics.write(i - left + 1);
 		}
 	}
 
@@ -84,17 +181,20 @@ public class BinaryInsertion {
 	}
 
 	// a < b ?
-	private static boolean less(Comparable a, Comparable b) {
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
 		return a.compareTo(b) < 0;
 	}
 
 	// a < b ?
-	private static boolean less(Comparator comparator, Object a, Object b) {
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
 		return comparator.compare(a, b) < 0;
 	}
 
 	// exchange a[i] and a[j]
-	private static void exch(Object[] a, int i, int j) {
+	private static void exch(SortMetrics metrics, Object[] a, int i, int j) {
+		metrics.swap();
 		Object temp = a[i];
 		a[i] = a[j];
 		a[j] = temp;
@@ -17,10 +17,56 @@ public class Bubble {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		for (int i = 0; i < a.length - 1; i++) {
-			for (int j = 0; j < a.length - 1 - i; j++) {
-				if (less(a[j + 1], a[j])) {
-					exch(a, j, j + 1);
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		for (int i = lo; i < hi - 1; i++) {
+			for (int j = lo; j < hi - 1 - (i - lo); j++) {
+				if (less(metrics, a[j + 1], a[j])) {
+					exch(metrics, a, j, j + 1);
 				}
 			}
 		}
@@ -35,27 +81,81 @@ public class Bubble {
 	 *            comparator the comparator specifying the order
 	 */
 	public static void sort(Object[] a, Comparator comparator) {
-		for (int i = 0; i < a.length - 1; i++) {
-			for (int j = 0; j < a.length - 1 - i; j++) {
-				if (less(comparator, a[j + 1], a[j])) {
-					exch(a, j, j + 1);
+		sort(a, 0, a.length, comparator);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 */
+	public static void sort(Object[] a, int lo, int hi, Comparator comparator) {
+		sort(a, lo, hi, comparator, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Object[] a, Comparator comparator, SortMetrics metrics) {
+		sort(a, 0, a.length, comparator, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		for (int i = lo; i < hi - 1; i++) {
+			for (int j = lo; j < hi - 1 - (i - lo); j++) {
+				if (less(metrics, comparator, a[j + 1], a[j])) {
+					exch(metrics, a, j, j + 1);
 				}
 			}
 		}
 	}
 
 	// a < b ?
-	private static boolean less(Comparable a, Comparable b) {
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
 		return a.compareTo(b) < 0;
 	}
 
 	// a < b ?
-	private static boolean less(Comparator comparator, Object a, Object b) {
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
 		return comparator.compare(a, b) < 0;
 	}
 
 	// exchange a[i] and a[j]
-	private static void exch(Object[] a, int i, int j) {
+	private static void exch(SortMetrics metrics, Object[] a, int i, int j) {
+		metrics.swap();
 		Object temp = a[i];
 		a[i] = a[j];
 		a[j] = temp;
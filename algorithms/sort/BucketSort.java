@@ -0,0 +1,131 @@
+import java.util.Scanner;
+
+/**
+ * Bucket Sort for {@code double} keys drawn from a roughly uniform
+ * distribution, such as random samples, hash fractions or load ratios. The
+ * range [min, max] of the keys is cut in n buckets of equal width, the keys
+ * are distributed to their bucket by key-indexed counting and an insertion
+ * sort puts every bucket in order. A uniform input has about one key per
+ * bucket, so the sort takes O(n) expected time.
+ * <p>
+ * The histogram of the buckets tells how far the input is from uniform: the
+ * pairs of keys sharing a bucket bound the work of the insertion sort, so when
+ * there are more than {@code MAX_PAIRS} per key (e.g. an exponential
+ * distribution crowded at one end, or many equal keys) the array is sorted by
+ * {@link Quick} instead, as it is when the range is not finite.
+ * <p>
+ * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+ * before 0.0 and NaN sorts after every other value.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class BucketSort {
+	private static final int CUTOFF = 32; // cutoff to insertion sort
+	private static final int MAX_PAIRS = 4; // Quick above this many pairs per key in a bucket
+
+	// This class should not be instantiated.
+	private BucketSort() {
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		int n = a.length;
+		if (n < CUTOFF) {
+			insertionSort(a, 0, n);
+			return;
+		}
+
+		// move NaN to the end, they sort after every other value
+		int m = n;
+		for (int i = n - 1; i >= 0; i--) {
+			if (Double.isNaN(a[i])) {
+				a[i] = a[--m];
+				a[m] = Double.NaN;
+			}
+		}
+		if (m <= 1)
+			return;
+		double min = a[0], max = a[0];
+		for (int i = 1; i < m; i++) {
+			if (a[i] < min)
+				min = a[i];
+			else if (a[i] > max)
+				max = a[i];
+		}
+		// infinite keys, or a range wider than Double.MAX_VALUE
+		if (Double.isInfinite(max - min)) {
+			Quick.sort(a);
+			return;
+		}
+
+		// compute the bucket of every key and count the keys per bucket,
+		// the bucket is monotonic in the key so the buckets are in order
+		double scale = m / (max - min);
+		int[] bucket = new int[m];
+		int[] count = new int[m + 1];
+		for (int i = 0; i < m; i++) {
+			bucket[i] = Math.min((int) ((a[i] - min) * scale), m - 1);
+			count[bucket[i] + 1]++;
+		}
+		long pairs = 0;
+		for (int b = 1; b <= m; b++) {
+			pairs += (long) count[b] * (count[b] - 1) / 2;
+		}
+		// not uniform enough (all keys equal when min == max)
+		if (pairs > (long) MAX_PAIRS * m) {
+			Quick.sort(a);
+			return;
+		}
+
+		// distribute to the buckets
+		for (int b = 0; b < m; b++) {
+			count[b + 1] += count[b];
+		}
+		double[] aux = new double[m];
+		for (int i = 0; i < m; i++) {
+			aux[count[bucket[i]]++] = a[i];
+		}
+		// a key only moves inside its bucket
+		insertionSort(aux, 0, m);
+		System.arraycopy(aux, 0, a, 0, m);
+	}
+
+	// sort a[lo..hi) by insertion
+	private static void insertionSort(double[] a, int lo, int hi) {
+		for (int i = lo + 1; i < hi; i++) {
+			double v = a[i];
+			int j = i;
+			while (j > lo && less(v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] s = new Scanner(System.in).nextLine().trim().split("\\s+");
+		double[] a = new double[s.length];
+		for (int i = 0; i < s.length; i++) {
+			a[i] = Double.parseDouble(s[i]);
+		}
+		sort(a);
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+}
@@ -0,0 +1,345 @@
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.function.ToIntFunction;
+
+/**
+ * Counting Sort (key-indexed counting) for integer keys in a small range, such
+ * as a priority in 0..255, a shard id in 0..4095 or the ordinal of an enum.
+ * The keys are counted in an array indexed by key - min and the counts give
+ * the position of every key, so the sort takes O(n + r) time for a range of r
+ * keys and never compares two keys, while {@link Quick3way} takes about
+ * n * log(min(n, r)) comparisons. The sort of objects is stable.
+ * <p>
+ * Counting wins while the range is small next to n and the counts stay in the
+ * cache, {@link #isSmallRange(int, long)} tells when: measured against
+ * Quick3way on {@code int[]}, counting is faster up to a range of about 32 to
+ * 64 times n, the test keeps a margin with 16 times n and at most
+ * {@code 1 << 20} keys (4 MB of counts). The sorts that find the range
+ * themselves fall back to Quick3way (or {@link LSD} for objects, which is
+ * stable) when it is too large.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class CountingSort {
+	private static final int RANGE_FACTOR = 16; // counting up to a range of this many times n
+	private static final int MAX_RANGE = 1 << 20; // largest range counted
+
+	// This class should not be instantiated.
+	private CountingSort() {
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 * The keys are counted if their range is small enough, see
+	 * {@link #isSmallRange(int, long)}, and sorted by {@link Quick3way}
+	 * otherwise.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		int n = a.length;
+		if (n <= 1)
+			return;
+		int min = a[0], max = a[0];
+		for (int i = 1; i < n; i++) {
+			if (a[i] < min)
+				min = a[i];
+			else if (a[i] > max)
+				max = a[i];
+		}
+		if (!isSmallRange(n, (long) max - min + 1)) {
+			Quick3way.sort(a);
+			return;
+		}
+		count(a, 0, n, min, max - min + 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order,
+	 * the keys being known to lie in [min, max]. The keys are counted whatever
+	 * the length of the array.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param min
+	 *            the smallest possible key
+	 * @param max
+	 *            the largest possible key
+	 * @throws IllegalArgumentException
+	 *             if the range holds more than {@code 1 << 20} keys or a key is
+	 *             out of it, the array is then left unchanged
+	 */
+	public static void sort(int[] a, int min, int max) {
+		sort(a, 0, a.length, min, max);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code int} values in
+	 * ascending order, the keys being known to lie in [min, max]. The keys are
+	 * counted whatever the length of the subarray.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param min
+	 *            the smallest possible key
+	 * @param max
+	 *            the largest possible key
+	 * @throws IllegalArgumentException
+	 *             if the range holds more than {@code 1 << 20} keys or a key is
+	 *             out of it, the array is then left unchanged
+	 */
+	public static void sort(int[] a, int lo, int hi, int min, int max) {
+		Ranges.check(a.length, lo, hi);
+		count(a, lo, hi, min, range(min, max));
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 * The keys are counted if their range is small enough, see
+	 * {@link #isSmallRange(int, long)}, and sorted by {@link Quick3way}
+	 * otherwise.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		int n = a.length;
+		if (n <= 1)
+			return;
+		long min = a[0], max = a[0];
+		for (int i = 1; i < n; i++) {
+			if (a[i] < min)
+				min = a[i];
+			else if (a[i] > max)
+				max = a[i];
+		}
+		// max - min overflows for ranges wider than Long.MAX_VALUE, which are
+		// not small either
+		if (max - min < 0 || !isSmallRange(n, max - min + 1)) {
+			Quick3way.sort(a);
+			return;
+		}
+		count(a, min, (int) (max - min + 1));
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order,
+	 * the keys being known to lie in [min, max]. The keys are counted whatever
+	 * the length of the array.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param min
+	 *            the smallest possible key
+	 * @param max
+	 *            the largest possible key
+	 * @throws IllegalArgumentException
+	 *             if the range holds more than {@code 1 << 20} keys or a key is
+	 *             out of it, the array is then left unchanged
+	 */
+	public static void sort(long[] a, long min, long max) {
+		count(a, min, range(min, max));
+	}
+
+	/**
+	 * Rearranges the array in ascending order of an {@code int} key. The key of
+	 * every element is extracted exactly once and elements with equal keys keep
+	 * their relative order. The elements are counted if the range of the keys
+	 * is small enough, see {@link #isSmallRange(int, long)}, and sorted by
+	 * {@link LSD#sortByInt(Object[], ToIntFunction)} otherwise.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 */
+	public static <T> void sortByInt(T[] a, ToIntFunction<? super T> key) {
+		int n = a.length;
+		if (n <= 1)
+			return;
+		int[] keys = new int[n];
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.applyAsInt(a[i]);
+			min = Math.min(min, keys[i]);
+			max = Math.max(max, keys[i]);
+		}
+		if (!isSmallRange(n, (long) max - min + 1)) {
+			LSD.sortByInt(a, key);
+			return;
+		}
+		distribute(a, keys, min, max - min + 1);
+	}
+
+	/**
+	 * Rearranges the array in ascending order of an {@code int} key known to
+	 * lie in [min, max], e.g. {@code 0} and {@code values().length - 1} for the
+	 * ordinal of an enum. The key of every element is extracted exactly once
+	 * and elements with equal keys keep their relative order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 * @param min
+	 *            the smallest possible key
+	 * @param max
+	 *            the largest possible key
+	 * @throws IllegalArgumentException
+	 *             if the range holds more than {@code 1 << 20} keys or a key is
+	 *             out of it, the array is then left unchanged
+	 */
+	public static <T> void sortByInt(T[] a, ToIntFunction<? super T> key, int min, int max) {
+		int range = range(min, max);
+		int n = a.length;
+		int[] keys = new int[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.applyAsInt(a[i]);
+			if (keys[i] < min || keys[i] > max)
+				throw new IllegalArgumentException("key " + keys[i] + " at " + i + " is out of [" + min + ", " + max + "].");
+		}
+		distribute(a, keys, min, range);
+	}
+
+	/**
+	 * Returns true if counting n keys over a range of the given number of keys
+	 * is faster than sorting them with {@link Quick3way}.
+	 *
+	 * @param n
+	 *            the number of keys
+	 * @param range
+	 *            the number of possible keys, max - min + 1
+	 */
+	public static boolean isSmallRange(int n, long range) {
+		return range <= MAX_RANGE && range <= (long) RANGE_FACTOR * Math.max(n, 1);
+	}
+
+	/**
+	 * Returns true if the array is better counted than sorted by
+	 * {@link Quick3way}, see {@link #isSmallRange(int, long)}.
+	 *
+	 * @param a
+	 *            the keys
+	 */
+	public static boolean isSmallRange(int[] a) {
+		if (a.length <= 1)
+			return true;
+		int min = a[0], max = a[0];
+		for (int i = 1; i < a.length; i++) {
+			if (a[i] < min)
+				min = a[i];
+			else if (a[i] > max)
+				max = a[i];
+		}
+		return isSmallRange(a.length, (long) max - min + 1);
+	}
+
+	/**
+	 * Returns true if the array is better counted than sorted by
+	 * {@link Quick3way}, see {@link #isSmallRange(int, long)}.
+	 *
+	 * @param a
+	 *            the keys
+	 */
+	public static boolean isSmallRange(long[] a) {
+		if (a.length <= 1)
+			return true;
+		long min = a[0], max = a[0];
+		for (int i = 1; i < a.length; i++) {
+			if (a[i] < min)
+				min = a[i];
+			else if (a[i] > max)
+				max = a[i];
+		}
+		return max - min >= 0 && isSmallRange(a.length, max - min + 1);
+	}
+
+	// count the keys min..min+range-1 of a[lo..hi) and write them back in
+	// order, a key out of the range is found while counting, before a[] is
+	// written
+	private static void count(int[] a, int lo, int hi, int min, int range) {
+		int max = min + range - 1;
+		int[] count = new int[range];
+		for (int i = lo; i < hi; i++) {
+			if (a[i] < min || a[i] > max)
+				throw new IllegalArgumentException("key " + a[i] + " at " + i + " is out of [" + min + ", " + max + "].");
+			count[a[i] - min]++;
+		}
+		for (int r = 0, k = lo; r < range; r++) {
+			Arrays.fill(a, k, k + count[r], min + r);
+			k += count[r];
+		}
+	}
+
+	private static void count(long[] a, long min, int range) {
+		long max = min + range - 1;
+		int[] count = new int[range];
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] < min || a[i] > max)
+				throw new IllegalArgumentException("key " + a[i] + " at " + i + " is out of [" + min + ", " + max + "].");
+			count[(int) (a[i] - min)]++;
+		}
+		for (int r = 0, k = 0; r < range; r++) {
+			Arrays.fill(a, k, k + count[r], min + r);
+			k += count[r];
+		}
+	}
+
+	// stably move every a[i] to the position of keys[i] among the keys
+	// min..min+range-1
+	private static void distribute(Object[] a, int[] keys, int min, int range) {
+		int n = a.length;
+		// compute frequency counts
+		int[] count = new int[range + 1];
+		for (int i = 0; i < n; i++) {
+			count[keys[i] - min + 1]++;
+		}
+		// transform counts to indices
+		for (int r = 0; r < range; r++) {
+			count[r + 1] += count[r];
+		}
+		// distribute
+		Object[] aux = ScratchPool.objects(n, SortMetrics.NONE);
+		for (int i = 0; i < n; i++) {
+			aux[count[keys[i] - min]++] = a[i];
+		}
+		System.arraycopy(aux, 0, a, 0, n);
+		ScratchPool.release(aux, n);
+	}
+
+	// the number of keys in [min, max]
+	private static int range(int min, int max) {
+		long range = (long) max - min + 1;
+		if (range <= 0 || range > MAX_RANGE)
+			throw new IllegalArgumentException("range [" + min + ", " + max + "] must hold 1 to " + MAX_RANGE + " keys.");
+		return (int) range;
+	}
+
+	private static int range(long min, long max) {
+		// max - min overflows for ranges wider than Long.MAX_VALUE
+		if (max < min || max - min < 0 || max - min >= MAX_RANGE)
+			throw new IllegalArgumentException("range [" + min + ", " + max + "] must hold 1 to " + MAX_RANGE + " keys.");
+		return (int) (max - min + 1);
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] s = new Scanner(System.in).nextLine().trim().split("\\s+");
+		int[] a = new int[s.length];
+		for (int i = 0; i < s.length; i++) {
+			a[i] = Integer.parseInt(s[i]);
+		}
+		System.out.println("small range: " + isSmallRange(a));
+		sort(a);
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+}
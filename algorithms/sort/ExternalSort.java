@@ -0,0 +1,414 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * External Merge Sort for data sets larger than the heap. The input is read in
+ * runs of at most {@code runSize} records which are sorted in memory by
+ * {@link MergeX} and spilled to temporary files through a {@link FileChannel}.
+ * The runs are then merged {@code fanIn} at a time with a loser tree, every
+ * run being read through its own read-ahead buffer, until a single pass writes
+ * the output. Records with equal keys keep their input order.
+ * <p>
+ * Records are stored as a 4-byte length followed by the bytes written by the
+ * {@link Codec}, the input file of {@link #sort(Path, Path)} must use the same
+ * format (the one the output is written in).
+ *
+ * <pre>
+ * new ExternalSort&lt;&gt;(codec, comparator)
+ *         .withRunSize(1 &lt;&lt; 22)
+ *         .withFanIn(64)
+ *         .withBufferSize(1 &lt;&lt; 20)
+ *         .sort(input, output);
+ * </pre>
+ *
+ * @author SylvanasSun
+ *
+ */
+public class ExternalSort<T> {
+
+	/**
+	 * Converts records to and from their binary form.
+	 */
+	public interface Codec<T> {
+
+		/**
+		 * Returns the number of bytes {@link #encode(Object, ByteBuffer)} writes
+		 * for the record.
+		 */
+		int size(T record);
+
+		/**
+		 * Writes the record at the current position of the buffer, the buffer
+		 * has at least {@link #size(Object)} bytes remaining.
+		 */
+		void encode(T record, ByteBuffer dst);
+
+		/**
+		 * Reads a record from the buffer, whose remaining bytes are exactly the
+		 * ones written by {@link #encode(Object, ByteBuffer)}. The record must
+		 * not be null.
+		 */
+		T decode(ByteBuffer src);
+	}
+
+	private final Codec<T> codec;
+	private final Comparator<? super T> comparator;
+
+	private int runSize = 1 << 20; // records sorted in memory per run
+	private int fanIn = 64; // runs merged in one pass
+	private int bufferSize = 1 << 16; // read-ahead and write buffer per file, in bytes
+	private Path tempDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+
+	public ExternalSort(Codec<T> codec, Comparator<? super T> comparator) {
+		if (codec == null || comparator == null)
+			throw new IllegalArgumentException("codec and comparator must not be null.");
+		this.codec = codec;
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Sets the number of records sorted in memory at once, i.e. the length of
+	 * the initial runs. It should be chosen so that this many records fit in
+	 * about half of the heap (MergeX needs an aux array of the same length).
+	 */
+	public ExternalSort<T> withRunSize(int runSize) {
+		if (runSize < 1)
+			throw new IllegalArgumentException("run size must be positive.");
+		this.runSize = runSize;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of runs merged in one pass.
+	 */
+	public ExternalSort<T> withFanIn(int fanIn) {
+		if (fanIn < 2)
+			throw new IllegalArgumentException("fan-in must be at least 2.");
+		this.fanIn = fanIn;
+		return this;
+	}
+
+	/**
+	 * Sets the size in bytes of the read-ahead buffer of every run (and of the
+	 * write buffer), the buffer grows if a single record does not fit in it.
+	 */
+	public ExternalSort<T> withBufferSize(int bufferSize) {
+		if (bufferSize < Integer.BYTES)
+			throw new IllegalArgumentException("buffer size is too small.");
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	/**
+	 * Sets the directory in which the runs are spilled.
+	 */
+	public ExternalSort<T> withTempDirectory(Path tempDirectory) {
+		if (tempDirectory == null)
+			throw new IllegalArgumentException("temp directory must not be null.");
+		this.tempDirectory = tempDirectory;
+		return this;
+	}
+
+	/**
+	 * Sorts the records of the input file into the output file.
+	 *
+	 * @param input
+	 *            the file of length-prefixed records to be sorted
+	 * @param output
+	 *            the file the sorted records are written to
+	 */
+	public void sort(Path input, Path output) throws IOException {
+		try (RunReader reader = new RunReader(input)) {
+			sort(reader, output);
+		}
+	}
+
+	/**
+	 * Sorts the records returned by the iterator into the output file.
+	 *
+	 * @param input
+	 *            the records to be sorted
+	 * @param output
+	 *            the file the sorted records are written to
+	 */
+	public void sort(Iterator<? extends T> input, Path output) throws IOException {
+		List<Path> temps = new ArrayList<>(); // every spilled file, deleted at the end
+		try {
+			List<Path> runs = createRuns(input, temps);
+			while (runs.size() > fanIn) {
+				List<Path> merged = new ArrayList<>();
+				for (int i = 0; i < runs.size(); i += fanIn) {
+					List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+					Path run = createTempFile(temps);
+					merged.add(run);
+					merge(group, run);
+					delete(group);
+				}
+				runs = merged;
+			}
+			merge(runs, output);
+		} finally {
+			delete(temps);
+		}
+	}
+
+	// sort the input in chunks of runSize records and spill every chunk
+	private List<Path> createRuns(Iterator<? extends T> input, List<Path> temps) throws IOException {
+		List<Path> runs = new ArrayList<>();
+		Object[] chunk = new Object[runSize];
+		while (input.hasNext()) {
+			int n = 0;
+			while (n < runSize && input.hasNext()) {
+				chunk[n++] = input.next();
+			}
+			Object[] a = n == runSize ? chunk : Arrays.copyOf(chunk, n);
+			MergeX.sort(a, comparator);
+
+			Path run = createTempFile(temps);
+			runs.add(run);
+			try (RunWriter writer = new RunWriter(run)) {
+				for (int i = 0; i < n; i++) {
+					writer.write((T) a[i]);
+				}
+			}
+		}
+		return runs;
+	}
+
+	// k-way merge the runs into output
+	private void merge(List<Path> runs, Path output) throws IOException {
+		List<RunReader> readers = new ArrayList<>(runs.size());
+		try (RunWriter writer = new RunWriter(output)) {
+			for (Path run : runs) {
+				readers.add(new RunReader(run));
+			}
+			LoserTree tree = new LoserTree(readers);
+			while (tree.hasNext()) {
+				writer.write(tree.next());
+			}
+		} finally {
+			for (RunReader reader : readers) {
+				reader.close();
+			}
+		}
+	}
+
+	private Path createTempFile(List<Path> temps) throws IOException {
+		Path file = Files.createTempFile(tempDirectory, "run", ".tmp");
+		temps.add(file);
+		return file;
+	}
+
+	private static void delete(List<Path> files) throws IOException {
+		for (Path file : files) {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Tournament tree of the heads of k runs. Every internal node keeps the
+	 * loser of the match played there and tree[0] the overall winner, so after
+	 * the winner is consumed only the path from its leaf to the root is
+	 * replayed: log2(k) comparisons per record. Ties are won by the run with
+	 * the lower index, which keeps the merge stable.
+	 */
+	private class LoserTree {
+		private final List<RunReader> runs;
+		private final int k;
+		private final int[] tree;
+
+		LoserTree(List<RunReader> runs) {
+			this.runs = runs;
+			this.k = runs.size();
+			this.tree = new int[Math.max(k, 1)];
+			// index k is a virtual run smaller than everything, replaying the
+			// leaves from the last one replaces it with the real losers
+			Arrays.fill(tree, k);
+			for (int i = k - 1; i >= 0; i--) {
+				replay(i);
+			}
+		}
+
+		boolean hasNext() {
+			return k > 0 && runs.get(tree[0]).hasNext();
+		}
+
+		T next() throws IOException {
+			int winner = tree[0];
+			T record = runs.get(winner).next();
+			replay(winner);
+			return record;
+		}
+
+		// play the matches from the leaf of run s up to the root
+		private void replay(int s) {
+			for (int t = (s + k) >> 1; t > 0; t >>= 1) {
+				if (beats(tree[t], s)) {
+					int temp = s;
+					s = tree[t];
+					tree[t] = temp;
+				}
+			}
+			tree[0] = s;
+		}
+
+		// does run x win against run y ?
+		private boolean beats(int x, int y) {
+			if (x == k)
+				return true;
+			if (y == k)
+				return false;
+			RunReader rx = runs.get(x), ry = runs.get(y);
+			if (!rx.hasNext())
+				return false;
+			if (!ry.hasNext())
+				return true;
+			int cmp = comparator.compare(rx.peek(), ry.peek());
+			return cmp < 0 || (cmp == 0 && x < y);
+		}
+	}
+
+	/**
+	 * Reads length-prefixed records of a file through a read-ahead buffer.
+	 */
+	private class RunReader implements Iterator<T>, Closeable {
+		private final FileChannel channel;
+		private ByteBuffer buffer;
+		private T head; // next record, null at the end of the file
+
+		RunReader(Path path) throws IOException {
+			this.channel = FileChannel.open(path, StandardOpenOption.READ);
+			this.buffer = ByteBuffer.allocate(bufferSize);
+			buffer.flip();
+			advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return head != null;
+		}
+
+		T peek() {
+			return head;
+		}
+
+		@Override
+		public T next() {
+			if (head == null)
+				throw new NoSuchElementException();
+			T record = head;
+			try {
+				advance();
+			} catch (IOException e) {
+				throw new UncheckedIOException("failed to read run.", e);
+			}
+			return record;
+		}
+
+		private void advance() throws IOException {
+			if (!fill(Integer.BYTES)) {
+				if (buffer.hasRemaining())
+					throw new EOFException("truncated record length.");
+				head = null;
+				return;
+			}
+			int length = buffer.getInt();
+			if (!fill(length))
+				throw new EOFException("truncated record.");
+
+			int limit = buffer.limit();
+			int end = buffer.position() + length;
+			buffer.limit(end);
+			head = codec.decode(buffer);
+			// null marks the end of the run, a null record would silently
+			// drop the rest of it
+			if (head == null)
+				throw new IllegalStateException("codec decoded a null record.");
+			buffer.limit(limit);
+			buffer.position(end);
+		}
+
+		// make sure n bytes are buffered, return false at the end of the file
+		private boolean fill(int n) throws IOException {
+			if (buffer.remaining() >= n)
+				return true;
+			if (buffer.capacity() < n) {
+				ByteBuffer larger = ByteBuffer.allocate(Math.max(n, buffer.capacity() * 2));
+				larger.put(buffer);
+				buffer = larger;
+			} else {
+				buffer.compact();
+			}
+			while (buffer.position() < n && channel.read(buffer) >= 0)
+				;
+			buffer.flip();
+			return buffer.remaining() >= n;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Writes length-prefixed records to a file through a buffer.
+	 */
+	private class RunWriter implements Closeable {
+		private final FileChannel channel;
+		private ByteBuffer buffer;
+
+		RunWriter(Path path) throws IOException {
+			this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+			this.buffer = ByteBuffer.allocate(bufferSize);
+		}
+
+		void write(T record) throws IOException {
+			int length = codec.size(record);
+			if (buffer.remaining() < Integer.BYTES + length) {
+				flush();
+				if (buffer.capacity() < Integer.BYTES + length)
+					buffer = ByteBuffer.allocate(Integer.BYTES + length);
+			}
+			buffer.putInt(length);
+			int start = buffer.position();
+			codec.encode(record, buffer);
+			if (buffer.position() - start != length)
+				throw new IllegalStateException("codec wrote " + (buffer.position() - start)
+						+ " bytes but its size is " + length + ".");
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,168 @@
+import java.util.Arrays;
+
+/**
+ * Gap Sequence of the Shell Sort. A sequence is a table of increasing gaps
+ * starting at 1, an array of length n is h-sorted for every gap h < n of the
+ * table from the largest one down to 1. The number of comparisons of Shell
+ * sort depends mostly on the sequence, so the classic ones are provided:
+ * <ul>
+ * <li>{@link #KNUTH} 1, 4, 13, 40, 121, ... (3h + 1)</li>
+ * <li>{@link #CIURA} 1, 4, 10, 23, 57, 132, 301, 701, 1750, extended by a
+ * factor of 2.25, the best known sequence found experimentally</li>
+ * <li>{@link #TOKUDA} 1, 4, 9, 20, 46, 103, ... (ceil of h' = 2.25h + 1)</li>
+ * <li>{@link #SEDGEWICK} 1, 5, 19, 41, 109, 209, ... (9 * 4^k - 9 * 2^k + 1
+ * merged with 4^k - 3 * 2^k + 1), O(n^(4/3)) in the worst case</li>
+ * <li>{@link #PRATT} 1, 2, 3, 4, 6, 8, 9, 12, ... (2^p * 3^q), O(n log^2 n) in
+ * the worst case but with many passes</li>
+ * </ul>
+ * and {@link #of(int...)} builds a sequence from user-supplied gaps.
+ *
+ * @author SylvanasSun
+ *
+ */
+public final class GapSequence {
+
+	public static final GapSequence KNUTH = new GapSequence("Knuth", knuth());
+	public static final GapSequence CIURA = new GapSequence("Ciura", ciura());
+	public static final GapSequence TOKUDA = new GapSequence("Tokuda", tokuda());
+	public static final GapSequence SEDGEWICK = new GapSequence("Sedgewick", sedgewick());
+	public static final GapSequence PRATT = new GapSequence("Pratt", pratt());
+
+	private final String name;
+
+	// the gaps in increasing order, table[0] == 1
+	final int[] table;
+
+	private GapSequence(String name, int[] table) {
+		this.name = name;
+		this.table = table;
+	}
+
+	/**
+	 * Returns a sequence of the given gaps. The gaps may be in any order,
+	 * duplicates are ignored.
+	 *
+	 * @param gaps
+	 *            the gaps of the sequence
+	 * @return the sequence
+	 * @throws IllegalArgumentException
+	 *             if a gap is not positive or there is no gap 1, without which
+	 *             the last pass would not sort the array
+	 */
+	public static GapSequence of(int... gaps) {
+		if (gaps == null || gaps.length == 0)
+			throw new IllegalArgumentException("gaps is empty.");
+		int[] table = gaps.clone();
+		Arrays.sort(table);
+		if (table[0] <= 0)
+			throw new IllegalArgumentException("gap must be positive: " + table[0]);
+		if (table[0] != 1)
+			throw new IllegalArgumentException("gaps must contain 1.");
+		int n = 1;
+		for (int i = 1; i < table.length; i++) {
+			if (table[i] != table[n - 1])
+				table[n++] = table[i];
+		}
+		return new GapSequence("Custom", Arrays.copyOf(table, n));
+	}
+
+	/**
+	 * Returns the gaps used to sort an array of length n, in the order of the
+	 * passes (decreasing, the last one is 1).
+	 *
+	 * @param n
+	 *            the length of the array
+	 * @return the gaps of the passes
+	 */
+	public int[] gaps(int n) {
+		int[] gaps = new int[first(n) + 1];
+		for (int i = 0; i < gaps.length; i++) {
+			gaps[i] = table[gaps.length - 1 - i];
+		}
+		return gaps;
+	}
+
+	// index of the gap of the first pass over n elements, the largest gap < n
+	int first(int n) {
+		int i = Arrays.binarySearch(table, n);
+		if (i < 0)
+			i = -i - 1;
+		return Math.max(i - 1, 0);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	// h = 3h + 1
+	private static int[] knuth() {
+		int[] table = new int[32];
+		int n = 0;
+		for (long h = 1; h <= Integer.MAX_VALUE; h = 3 * h + 1) {
+			table[n++] = (int) h;
+		}
+		return Arrays.copyOf(table, n);
+	}
+
+	// the experimental gaps of Ciura, extended by h = 2.25h
+	private static int[] ciura() {
+		int[] known = { 1, 4, 10, 23, 57, 132, 301, 701, 1750 };
+		int[] table = Arrays.copyOf(known, 64);
+		int n = known.length;
+		for (long h = (long) (known[n - 1] * 2.25); h <= Integer.MAX_VALUE; h = (long) (h * 2.25)) {
+			table[n++] = (int) h;
+		}
+		return Arrays.copyOf(table, n);
+	}
+
+	// h = ceil(x), x = 2.25x + 1
+	private static int[] tokuda() {
+		int[] table = new int[64];
+		int n = 0;
+		for (double x = 1; Math.ceil(x) <= Integer.MAX_VALUE; x = 2.25 * x + 1) {
+			table[n++] = (int) Math.ceil(x);
+		}
+		return Arrays.copyOf(table, n);
+	}
+
+	// 9 * 4^k - 9 * 2^k + 1 and 4^k - 3 * 2^k + 1
+	private static int[] sedgewick() {
+		int[] table = new int[64];
+		int n = 0;
+		for (int k = 0; k < 16; k++) {
+			long even = 9L * (1L << 2 * k) - 9L * (1L << k) + 1;
+			long odd = (1L << 2 * k + 4) - 3L * (1L << k + 2) + 1;
+			if (even <= Integer.MAX_VALUE)
+				table[n++] = (int) even;
+			if (odd <= Integer.MAX_VALUE)
+				table[n++] = (int) odd;
+		}
+		table = Arrays.copyOf(table, n);
+		Arrays.sort(table);
+		return table;
+	}
+
+	// 2^p * 3^q
+	private static int[] pratt() {
+		int[] table = new int[1024];
+		int n = 0;
+		for (long p = 1; p <= Integer.MAX_VALUE; p *= 2) {
+			for (long h = p; h <= Integer.MAX_VALUE; h *= 3) {
+				table[n++] = (int) h;
+			}
+		}
+		table = Arrays.copyOf(table, n);
+		Arrays.sort(table);
+		return table;
+	}
+
+	// test
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		for (GapSequence sequence : new GapSequence[] { KNUTH, CIURA, TOKUDA, SEDGEWICK, PRATT }) {
+			System.out.println(sequence + ": " + Arrays.toString(sequence.gaps(n)));
+		}
+	}
+
+}
@@ -17,10 +17,56 @@ public class Insertion {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		for (int i = 0; i < a.length; i++) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		for (int i = lo; i < hi; i++) {
 			// a[i] insert to a[i-1]、a[i-2]、a[i-3]...
-			for (int j = i; j > 0 && less(a[j], a[j - 1]); j--) {
-				exch(a, j, j - 1);
+			for (int j = i; j > lo && less(metrics, a[j], a[j - 1]); j--) {
+				exch(metrics, a, j, j - 1);
 			}
 		}
 	}
@@ -34,9 +80,60 @@ public class Insertion {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
-		for (int i = 0; i < a.length; i++) {
-			for (int j = i; j > 0 && less(comparator, a[j], a[j - 1]); j--) {
-				exch(a, j, j - 1);
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		for (int i = lo; i < hi; i++) {
+			for (int j = i; j > lo && less(metrics, comparator, a[j], a[j - 1]); j--) {
+				exch(metrics, a, j, j - 1);
 			}
 		}
 	}
@@ -54,17 +151,20 @@ public class Insertion {
 	}
 
 	// a < b ?
-	private static boolean less(Comparable a, Comparable b) {
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
 		return a.compareTo(b) < 0;
 	}
 
 	// a < b ?
-	private static boolean less(Comparator comparator, Object a, Object b) {
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
 		return comparator.compare(a, b) < 0;
 	}
 
 	// exchange a[i] and a[j]
-	private static void exch(Object[] a, int i, int j) {
+	private static void exch(SortMetrics metrics, Object[] a, int i, int j) {
+		metrics.swap();
 		Object temp = a[i];
 		a[i] = a[j];
 		a[j] = temp;
@@ -18,13 +18,57 @@ public class InsertionX {
 	 *            the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		int length = a.length;
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
 
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
 		// put smallest element in position to serve as sentinel
 		int exchanges = 0;
-		for (int i = length - 1; i > 0; i--) {
-			if (less(a[i], a[i - 1])) {
-				exch(a, i, i - 1);
+		for (int i = hi - 1; i > lo; i--) {
+			if (less(metrics, a[i], a[i - 1])) {
+				exch(metrics, a, i, i - 1);
 				exchanges++;
 			}
 		}
@@ -32,14 +76,17 @@ public class InsertionX {
 			return;
 
 		// insertion sort with half-exchanges
-		for (int i = 2; i < length; i++) {
+		for (int i = lo + 2; i < hi; i++) {
 			Comparable v = a[i];
 			int j = i;
-			while (less(v, a[j - 1])) {
+			// the sentinel only holds for a consistent order, j > lo keeps an
+			// inconsistent one inside a[lo..hi)
+			while (j > lo && less(metrics, v, a[j - 1])) {
 				a[j] = a[j - 1];
 				j--;
 			}
 			a[j] = v;
+			metrics.write(i - j + 1);
 		}
 	}
 
@@ -52,12 +99,96 @@ public class InsertionX {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		// put smallest element in position to serve as sentinel
+		int exchanges = 0;
+		for (int i = hi - 1; i > lo; i--) {
+			if (less(metrics, comparator, a[i], a[i - 1])) {
+				exch(metrics, a, i, i - 1);
+				exchanges++;
+			}
+		}
+		if (exchanges == 0)
+			return;
+
+		// insertion sort with half-exchanges
+		for (int i = lo + 2; i < hi; i++) {
+			Object v = a[i];
+			int j = i;
+			// the sentinel only holds for a consistent order, j > lo keeps an
+			// inconsistent one inside a[lo..hi)
+			while (j > lo && less(metrics, comparator, v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+			metrics.write(i - j + 1);
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
 		int length = a.length;
 
 		// put smallest element in position to serve as sentinel
 		int exchanges = 0;
 		for (int i = length - 1; i > 0; i--) {
-			if (less(comparator, a[i], a[i - 1])) {
+			if (less(a[i], a[i - 1])) {
 				exch(a, i, i - 1);
 				exchanges++;
 			}
@@ -67,9 +198,76 @@ public class InsertionX {
 
 		// insertion sort with half-exchanges
 		for (int i = 2; i < length; i++) {
-			Object v = a[i];
+			int v = a[i];
+			int j = i;
+			while (less(v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		int length = a.length;
+
+		// put smallest element in position to serve as sentinel
+		int exchanges = 0;
+		for (int i = length - 1; i > 0; i--) {
+			if (less(a[i], a[i - 1])) {
+				exch(a, i, i - 1);
+				exchanges++;
+			}
+		}
+		if (exchanges == 0)
+			return;
+
+		// insertion sort with half-exchanges
+		for (int i = 2; i < length; i++) {
+			long v = a[i];
+			int j = i;
+			while (less(v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		int length = a.length;
+
+		// put smallest element in position to serve as sentinel
+		int exchanges = 0;
+		for (int i = length - 1; i > 0; i--) {
+			if (less(a[i], a[i - 1])) {
+				exch(a, i, i - 1);
+				exchanges++;
+			}
+		}
+		if (exchanges == 0)
+			return;
+
+		// insertion sort with half-exchanges
+		for (int i = 2; i < length; i++) {
+			double v = a[i];
 			int j = i;
-			while (less(comparator, v, a[j - 1])) {
+			while (less(v, a[j - 1])) {
 				a[j] = a[j - 1];
 				j--;
 			}
@@ -90,22 +288,61 @@ public class InsertionX {
 	}
 
 	// a < b ?
-	private static boolean less(Comparable a, Comparable b) {
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
 		return a.compareTo(b) < 0;
 	}
 
 	// a < b ?
-	private static boolean less(Comparator comparator, Object a, Object b) {
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
 		return comparator.compare(a, b) < 0;
 	}
 
 	// exchange a[i] and a[j]
-	private static void exch(Object[] a, int i, int j) {
+	private static void exch(SortMetrics metrics, Object[] a, int i, int j) {
+		metrics.swap();
 		Object temp = a[i];
 		a[i] = a[j];
 		a[j] = temp;
 	}
 
+	// a < b ?
+	private static boolean less(int a, int b) {
+		return a < b;
+	}
+
+	// a < b ?
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(int[] a, int i, int j) {
+		int temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(long[] a, int i, int j) {
+		long temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(double[] a, int i, int j) {
+		double temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
 	// test
 	public static void main(String[] args) {
 		String[] a = new Scanner(System.in).nextLine().split("\\s+");
@@ -0,0 +1,367 @@
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Key-caching Sort (decorate-sort-undecorate) for expensive keys. A sort
+ * through a comparator such as {@code Comparator.comparing(r -> r.decode())}
+ * derives the key twice per comparison, O(n log n) times in total. Here the
+ * key of every element is computed exactly once into an array parallel to an
+ * index permutation (a primitive array for numeric keys, so comparisons do not
+ * unbox), the keys and the permutation are sorted together by a stable merge
+ * sort as in {@link MergeX}, and the permutation is finally applied to the
+ * array in place by following its cycles.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class KeySort {
+	private static final int CUTOFF = 7; // cutoff to insertion sort
+
+	// This class should not be instantiated.
+	private KeySort() {
+	}
+
+	/**
+	 * Rearranges the array in ascending order of the {@code int} key of the
+	 * elements, the key of every element is computed once. The sort is stable.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 */
+	public static <T> void sortByInt(T[] a, ToIntFunction<? super T> key) {
+		int n = a.length;
+		int[] keys = new int[n];
+		int[] perm = identity(n);
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.applyAsInt(a[i]);
+		}
+		sort(keys.clone(), perm.clone(), keys, perm, 0, n - 1);
+		permute(a, perm);
+	}
+
+	/**
+	 * Rearranges the array in ascending order of the {@code long} key of the
+	 * elements, the key of every element is computed once. The sort is stable.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 */
+	public static <T> void sortByLong(T[] a, ToLongFunction<? super T> key) {
+		int n = a.length;
+		long[] keys = new long[n];
+		int[] perm = identity(n);
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.applyAsLong(a[i]);
+		}
+		sort(keys.clone(), perm.clone(), keys, perm, 0, n - 1);
+		permute(a, perm);
+	}
+
+	/**
+	 * Rearranges the array in ascending order of the {@code double} key of the
+	 * elements (in the order of {@link Double#compare(double, double)}), the key
+	 * of every element is computed once. The sort is stable.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 */
+	public static <T> void sortByDouble(T[] a, ToDoubleFunction<? super T> key) {
+		int n = a.length;
+		double[] keys = new double[n];
+		int[] perm = identity(n);
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.applyAsDouble(a[i]);
+		}
+		sort(keys.clone(), perm.clone(), keys, perm, 0, n - 1);
+		permute(a, perm);
+	}
+
+	/**
+	 * Rearranges the array in ascending natural order of the key of the
+	 * elements, the key of every element is computed once. The sort is stable.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 */
+	public static <T, K extends Comparable<? super K>> void sort(T[] a, Function<? super T, ? extends K> key) {
+		sort(a, key, Comparator.<K> naturalOrder());
+	}
+
+	/**
+	 * Rearranges the array in ascending order of the key of the elements, using
+	 * a comparator of the keys, the key of every element is computed once. The
+	 * sort is stable.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 * @param comparator
+	 *            compare the comparator specifying the order of the keys
+	 */
+	public static <T, K> void sort(T[] a, Function<? super T, ? extends K> key, Comparator<? super K> comparator) {
+		int n = a.length;
+		Object[] keys = new Object[n];
+		int[] perm = identity(n);
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.apply(a[i]);
+		}
+		sort(keys.clone(), perm.clone(), keys, perm, 0, n - 1, comparator);
+		permute(a, perm);
+	}
+
+	// 0, 1, ..., n - 1
+	private static int[] identity(int n) {
+		int[] perm = new int[n];
+		for (int i = 0; i < n; i++) {
+			perm[i] = i;
+		}
+		return perm;
+	}
+
+	// rearrange a[] so that a[i] becomes the old a[perm[i]], following the
+	// cycles of the permutation and marking the visited positions in perm[]
+	private static void permute(Object[] a, int[] perm) {
+		for (int i = 0; i < a.length; i++) {
+			if (perm[i] == i)
+				continue;
+			Object temp = a[i];
+			int j = i;
+			while (perm[j] != i) {
+				int k = perm[j];
+				a[j] = a[k];
+				perm[j] = j;
+				j = k;
+			}
+			a[j] = temp;
+			perm[j] = j;
+		}
+	}
+
+	// sort keys[lo..hi] together with perm[lo..hi], the contents of src and
+	// dst are equal on entry and the result is in dst (as in MergeX)
+	private static void sort(int[] srcKeys, int[] srcPerm, int[] dstKeys, int[] dstPerm, int lo, int hi) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dstKeys, dstPerm, lo, hi);
+			return;
+		}
+		int mid = lo + (hi - lo) / 2;
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, lo, mid);
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, mid + 1, hi);
+
+		if (!less(srcKeys[mid + 1], srcKeys[mid])) {
+			System.arraycopy(srcKeys, lo, dstKeys, lo, hi - lo + 1);
+			System.arraycopy(srcPerm, lo, dstPerm, lo, hi - lo + 1);
+			return;
+		}
+
+		int i = lo, j = mid + 1;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid || (j <= hi && less(srcKeys[j], srcKeys[i]))) {
+				dstKeys[k] = srcKeys[j];
+				dstPerm[k] = srcPerm[j++];
+			} else {
+				dstKeys[k] = srcKeys[i];
+				dstPerm[k] = srcPerm[i++];
+			}
+		}
+	}
+
+	private static void insertionSort(int[] keys, int[] perm, int lo, int hi) {
+		for (int i = lo + 1; i <= hi; i++) {
+			int v = keys[i];
+			int p = perm[i];
+			int j = i;
+			while (j > lo && less(v, keys[j - 1])) {
+				keys[j] = keys[j - 1];
+				perm[j] = perm[j - 1];
+				j--;
+			}
+			keys[j] = v;
+			perm[j] = p;
+		}
+	}
+
+	// sort keys[lo..hi] together with perm[lo..hi], the contents of src and
+	// dst are equal on entry and the result is in dst (as in MergeX)
+	private static void sort(long[] srcKeys, int[] srcPerm, long[] dstKeys, int[] dstPerm, int lo, int hi) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dstKeys, dstPerm, lo, hi);
+			return;
+		}
+		int mid = lo + (hi - lo) / 2;
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, lo, mid);
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, mid + 1, hi);
+
+		if (!less(srcKeys[mid + 1], srcKeys[mid])) {
+			System.arraycopy(srcKeys, lo, dstKeys, lo, hi - lo + 1);
+			System.arraycopy(srcPerm, lo, dstPerm, lo, hi - lo + 1);
+			return;
+		}
+
+		int i = lo, j = mid + 1;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid || (j <= hi && less(srcKeys[j], srcKeys[i]))) {
+				dstKeys[k] = srcKeys[j];
+				dstPerm[k] = srcPerm[j++];
+			} else {
+				dstKeys[k] = srcKeys[i];
+				dstPerm[k] = srcPerm[i++];
+			}
+		}
+	}
+
+	private static void insertionSort(long[] keys, int[] perm, int lo, int hi) {
+		for (int i = lo + 1; i <= hi; i++) {
+			long v = keys[i];
+			int p = perm[i];
+			int j = i;
+			while (j > lo && less(v, keys[j - 1])) {
+				keys[j] = keys[j - 1];
+				perm[j] = perm[j - 1];
+				j--;
+			}
+			keys[j] = v;
+			perm[j] = p;
+		}
+	}
+
+	// sort keys[lo..hi] together with perm[lo..hi], the contents of src and
+	// dst are equal on entry and the result is in dst (as in MergeX)
+	private static void sort(double[] srcKeys, int[] srcPerm, double[] dstKeys, int[] dstPerm, int lo, int hi) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dstKeys, dstPerm, lo, hi);
+			return;
+		}
+		int mid = lo + (hi - lo) / 2;
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, lo, mid);
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, mid + 1, hi);
+
+		if (!less(srcKeys[mid + 1], srcKeys[mid])) {
+			System.arraycopy(srcKeys, lo, dstKeys, lo, hi - lo + 1);
+			System.arraycopy(srcPerm, lo, dstPerm, lo, hi - lo + 1);
+			return;
+		}
+
+		int i = lo, j = mid + 1;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid || (j <= hi && less(srcKeys[j], srcKeys[i]))) {
+				dstKeys[k] = srcKeys[j];
+				dstPerm[k] = srcPerm[j++];
+			} else {
+				dstKeys[k] = srcKeys[i];
+				dstPerm[k] = srcPerm[i++];
+			}
+		}
+	}
+
+	private static void insertionSort(double[] keys, int[] perm, int lo, int hi) {
+		for (int i = lo + 1; i <= hi; i++) {
+			double v = keys[i];
+			int p = perm[i];
+			int j = i;
+			while (j > lo && less(v, keys[j - 1])) {
+				keys[j] = keys[j - 1];
+				perm[j] = perm[j - 1];
+				j--;
+			}
+			keys[j] = v;
+			perm[j] = p;
+		}
+	}
+
+	private static void sort(Object[] srcKeys, int[] srcPerm, Object[] dstKeys, int[] dstPerm, int lo, int hi,
+			Comparator comparator) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dstKeys, dstPerm, lo, hi, comparator);
+			return;
+		}
+		int mid = lo + (hi - lo) / 2;
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, lo, mid, comparator);
+		sort(dstKeys, dstPerm, srcKeys, srcPerm, mid + 1, hi, comparator);
+
+		if (!less(comparator, srcKeys[mid + 1], srcKeys[mid])) {
+			System.arraycopy(srcKeys, lo, dstKeys, lo, hi - lo + 1);
+			System.arraycopy(srcPerm, lo, dstPerm, lo, hi - lo + 1);
+			return;
+		}
+
+		int i = lo, j = mid + 1;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid || (j <= hi && less(comparator, srcKeys[j], srcKeys[i]))) {
+				dstKeys[k] = srcKeys[j];
+				dstPerm[k] = srcPerm[j++];
+			} else {
+				dstKeys[k] = srcKeys[i];
+				dstPerm[k] = srcPerm[i++];
+			}
+		}
+	}
+
+	private static void insertionSort(Object[] keys, int[] perm, int lo, int hi, Comparator comparator) {
+		for (int i = lo + 1; i <= hi; i++) {
+			Object v = keys[i];
+			int p = perm[i];
+			int j = i;
+			while (j > lo && less(comparator, v, keys[j - 1])) {
+				keys[j] = keys[j - 1];
+				perm[j] = perm[j - 1];
+				j--;
+			}
+			keys[j] = v;
+			perm[j] = p;
+		}
+	}
+
+	// a < b ?
+	private static boolean less(Comparator comparator, Object a, Object b) {
+		return comparator.compare(a, b) < 0;
+	}
+
+	// a < b ?
+	private static boolean less(int a, int b) {
+		return a < b;
+	}
+
+	// a < b ?
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// test: sort the words by length, words of the same length keep their order
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		KeySort.sortByInt(a, String::length);
+		KeySort.print(a);
+	}
+
+}
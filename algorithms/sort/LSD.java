@@ -0,0 +1,282 @@
+import java.util.Scanner;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * LSD (least-significant-digit-first) Radix Sort for fixed-width integer keys.
+ * Keys are split into bytes and each byte is distributed by key-indexed
+ * counting from the lowest to the highest one, the sort is stable and takes
+ * O(n * w) time where w is the number of bytes of the key. The histograms of
+ * all bytes are built in a single scan, so a pass whose byte is the same for
+ * every key (e.g. the high bytes of timestamps) is skipped for free. The sign
+ * bit is flipped in the most significant byte so negative keys come first.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class LSD {
+	private static final int BITS_PER_BYTE = 8;
+	private static final int R = 1 << BITS_PER_BYTE; // radix
+	private static final int MASK = R - 1;
+	private static final int SIGN = R >>> 1; // sign bit of the most significant byte
+
+	// This class should not be instantiated.
+	private LSD() {
+	}
+
+	/**
+	 * Rearranges the array of 32-bit integers in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of 32-bit integers in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(int[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		int n = hi - lo;
+		if (n <= 1)
+			return;
+		int w = Integer.SIZE / BITS_PER_BYTE;
+
+		// compute frequency counts of every byte in one scan
+		int[][] count = new int[w][R + 1];
+		for (int i = lo; i < hi; i++) {
+			for (int d = 0; d < w; d++) {
+				count[d][digit(a[i], d) + 1]++;
+			}
+		}
+
+		// the range starts at srcLo in src[] and at dstLo in dst[]
+		int[] src = a, dst = new int[n];
+		int srcLo = lo, dstLo = 0;
+		for (int d = 0; d < w; d++) {
+			if (!cumulate(count[d], n))
+				continue;
+
+			// move data
+			for (int i = srcLo; i < srcLo + n; i++) {
+				dst[dstLo + count[d][digit(src[i], d)]++] = src[i];
+			}
+			int[] temp = src;
+			src = dst;
+			dst = temp;
+			int tempLo = srcLo;
+			srcLo = dstLo;
+			dstLo = tempLo;
+		}
+		if (src != a)
+			System.arraycopy(src, 0, a, lo, n);
+	}
+
+	/**
+	 * Rearranges the array of 64-bit integers in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of 64-bit integers in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(long[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		int n = hi - lo;
+		if (n <= 1)
+			return;
+		int w = Long.SIZE / BITS_PER_BYTE;
+
+		// compute frequency counts of every byte in one scan
+		int[][] count = new int[w][R + 1];
+		for (int i = lo; i < hi; i++) {
+			for (int d = 0; d < w; d++) {
+				count[d][digit(a[i], d) + 1]++;
+			}
+		}
+
+		// the range starts at srcLo in src[] and at dstLo in dst[]
+		long[] src = a, dst = new long[n];
+		int srcLo = lo, dstLo = 0;
+		for (int d = 0; d < w; d++) {
+			if (!cumulate(count[d], n))
+				continue;
+
+			// move data
+			for (int i = srcLo; i < srcLo + n; i++) {
+				dst[dstLo + count[d][digit(src[i], d)]++] = src[i];
+			}
+			long[] temp = src;
+			src = dst;
+			dst = temp;
+			int tempLo = srcLo;
+			srcLo = dstLo;
+			dstLo = tempLo;
+		}
+		if (src != a)
+			System.arraycopy(src, 0, a, lo, n);
+	}
+
+	/**
+	 * Rearranges the array in ascending order of a 32-bit integer key. The key
+	 * of every element is extracted exactly once and elements with equal keys
+	 * keep their relative order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 */
+	public static <T> void sortByInt(T[] a, ToIntFunction<? super T> key) {
+		int n = a.length;
+		if (n <= 1)
+			return;
+		int w = Integer.SIZE / BITS_PER_BYTE;
+
+		int[] keys = new int[n];
+		int[][] count = new int[w][R + 1];
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.applyAsInt(a[i]);
+			for (int d = 0; d < w; d++) {
+				count[d][digit(keys[i], d) + 1]++;
+			}
+		}
+
+		Object[] src = a, dst = new Object[n];
+		int[] srcKeys = keys, dstKeys = new int[n];
+		for (int d = 0; d < w; d++) {
+			if (!cumulate(count[d], n))
+				continue;
+
+			for (int i = 0; i < n; i++) {
+				int j = count[d][digit(srcKeys[i], d)]++;
+				dst[j] = src[i];
+				dstKeys[j] = srcKeys[i];
+			}
+			Object[] temp = src;
+			src = dst;
+			dst = temp;
+			int[] tempKeys = srcKeys;
+			srcKeys = dstKeys;
+			dstKeys = tempKeys;
+		}
+		if (src != a)
+			System.arraycopy(src, 0, a, 0, n);
+	}
+
+	/**
+	 * Rearranges the array in ascending order of a 64-bit integer key. The key
+	 * of every element is extracted exactly once and elements with equal keys
+	 * keep their relative order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param key
+	 *            the function extracting the sort key of an element
+	 */
+	public static <T> void sortByLong(T[] a, ToLongFunction<? super T> key) {
+		int n = a.length;
+		if (n <= 1)
+			return;
+		int w = Long.SIZE / BITS_PER_BYTE;
+
+		long[] keys = new long[n];
+		int[][] count = new int[w][R + 1];
+		for (int i = 0; i < n; i++) {
+			keys[i] = key.applyAsLong(a[i]);
+			for (int d = 0; d < w; d++) {
+				count[d][digit(keys[i], d) + 1]++;
+			}
+		}
+
+		Object[] src = a, dst = new Object[n];
+		long[] srcKeys = keys, dstKeys = new long[n];
+		for (int d = 0; d < w; d++) {
+			if (!cumulate(count[d], n))
+				continue;
+
+			for (int i = 0; i < n; i++) {
+				int j = count[d][digit(srcKeys[i], d)]++;
+				dst[j] = src[i];
+				dstKeys[j] = srcKeys[i];
+			}
+			Object[] temp = src;
+			src = dst;
+			dst = temp;
+			long[] tempKeys = srcKeys;
+			srcKeys = dstKeys;
+			dstKeys = tempKeys;
+		}
+		if (src != a)
+			System.arraycopy(src, 0, a, 0, n);
+	}
+
+	// turn the frequency counts of a byte into starting indices,
+	// return false if every key has the same byte so the pass can be skipped
+	private static boolean cumulate(int[] count, int n) {
+		for (int r = 0; r < R; r++) {
+			if (count[r + 1] == n)
+				return false;
+		}
+		for (int r = 0; r < R; r++) {
+			count[r + 1] += count[r];
+		}
+		return true;
+	}
+
+	// d-th byte of x counting from the least significant one
+	private static int digit(int x, int d) {
+		int c = (x >>> (d * BITS_PER_BYTE)) & MASK;
+		return d == Integer.SIZE / BITS_PER_BYTE - 1 ? c ^ SIGN : c;
+	}
+
+	private static int digit(long x, int d) {
+		int c = (int) (x >>> (d * BITS_PER_BYTE)) & MASK;
+		return d == Long.SIZE / BITS_PER_BYTE - 1 ? c ^ SIGN : c;
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(long[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] s = new Scanner(System.in).nextLine().trim().split("\\s+");
+		long[] a = new long[s.length];
+		for (int i = 0; i < s.length; i++) {
+			a[i] = Long.parseLong(s[i]);
+		}
+		LSD.sort(a);
+		LSD.print(a);
+	}
+
+}
@@ -0,0 +1,59 @@
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares {@link LSD} with the comparison sorts on {@code long[]} keys that
+ * look like millisecond timestamps (the high bytes are the same for every key
+ * so LSD skips those passes) and on uniformly random keys.
+ *
+ * Usage: java LSDBenchmark [n]
+ *
+ * @author SylvanasSun
+ *
+ */
+public class LSDBenchmark {
+	private static final int WARMUP = 2;
+	private static final int ROUNDS = 3;
+
+	// This class should not be instantiated.
+	private LSDBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+		Random random = new Random(42);
+
+		long[] timestamps = new long[n];
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < n; i++) {
+			// one week of timestamps
+			timestamps[i] = now - random.nextInt(7 * 24 * 3600 * 1000);
+		}
+		long[] uniform = new long[n];
+		for (int i = 0; i < n; i++) {
+			uniform[i] = random.nextLong();
+		}
+
+		System.out.printf("%-10s %-11s %10s %10s%n", "algorithm", "input", "n", "time (ms)");
+		run("LSD", "timestamps", timestamps, LSD::sort);
+		run("Quick", "timestamps", timestamps, Quick::sort);
+		run("MergeX", "timestamps", timestamps, MergeX::sort);
+		run("LSD", "uniform", uniform, LSD::sort);
+		run("Quick", "uniform", uniform, Quick::sort);
+		run("MergeX", "uniform", uniform, MergeX::sort);
+	}
+
+	private static void run(String name, String distribution, long[] input, Consumer<long[]> sort) {
+		double best = Double.MAX_VALUE;
+		for (int round = 0; round < WARMUP + ROUNDS; round++) {
+			long[] a = input.clone();
+			long start = System.nanoTime();
+			sort.accept(a);
+			double elapsed = (System.nanoTime() - start) / 1e6;
+			if (round >= WARMUP)
+				best = Math.min(best, elapsed);
+		}
+		System.out.printf("%-10s %-11s %10d %10.2f%n", name, distribution, input.length, best);
+	}
+
+}
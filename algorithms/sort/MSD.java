@@ -0,0 +1,195 @@
+import java.util.Scanner;
+
+/**
+ * MSD (most-significant-digit-first) Radix Sort for strings. Every char is
+ * read as two bytes (high byte first) so the whole UTF-16 range is sorted in
+ * the order of {@link String#compareTo(String)} with a radix of 256. When all
+ * strings of a subarray have the same byte it moves to the next one without
+ * distributing, so a shared prefix only costs one counting scan per byte, and
+ * a high byte that is 0 in every string (as for ASCII text) is skipped without
+ * a counting scan.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class MSD {
+	private static final int R = 256; // radix
+	private static final int CUTOFF = 15; // cutoff to insertion sort
+
+	// This class should not be instantiated.
+	private MSD() {
+	}
+
+	/**
+	 * Rearranges the array of strings in ascending order, using the natural
+	 * order of {@link String#compareTo(String)}.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(String[] a) {
+		String[] aux = new String[a.length];
+		sort(a, 0, a.length - 1, 0, aux);
+	}
+
+	// sort from a[lo] to a[hi], starting at the d-th byte
+	private static void sort(String[] a, int lo, int hi, int d, String[] aux) {
+		if (hi <= lo + CUTOFF) {
+			// every string of a[lo..hi] shares the first d / 2 characters
+			if (hi > lo)
+				insertionSort(a, lo, hi, d >>> 1);
+			return;
+		}
+
+		int n = hi - lo + 1;
+		int[] count = new int[R + 2];
+		while (true) {
+			// a high byte that is 0 in every string which has not ended orders
+			// the strings as the low byte does, so skip it without counting
+			if ((d & 1) == 0 && latin1(a, lo, hi, d >>> 1))
+				d++;
+
+			// compute frequency counts
+			for (int i = lo; i <= hi; i++) {
+				count[byteAt(a[i], d) + 2]++;
+			}
+
+			// skip a byte shared by every string
+			int same = -1;
+			for (int r = 0; r < R + 2; r++) {
+				if (count[r] == n) {
+					same = r;
+					break;
+				}
+			}
+			if (same < 0)
+				break;
+			// all strings have ended, they are equal
+			if (same == 1)
+				return;
+			count[same] = 0;
+			d++;
+			// at a char boundary skip the whole shared prefix in one scan
+			if ((d & 1) == 0)
+				d = commonPrefix(a, lo, hi, d >>> 1) << 1;
+		}
+
+		// transform counts to indices
+		for (int r = 0; r < R + 1; r++) {
+			count[r + 1] += count[r];
+		}
+
+		// distribute
+		for (int i = lo; i <= hi; i++) {
+			aux[count[byteAt(a[i], d) + 1]++] = a[i];
+		}
+
+		// copy back
+		System.arraycopy(aux, 0, a, lo, n);
+
+		// recursively sort for each byte (excludes sentinel -1)
+		for (int r = 0; r < R; r++) {
+			if (count[r + 1] - count[r] > 1)
+				sort(a, lo + count[r], lo + count[r + 1] - 1, d + 1, aux);
+		}
+	}
+
+	// return the length of the longest prefix shared by a[lo..hi], given
+	// that they are known to share the first d characters
+	private static int commonPrefix(String[] a, int lo, int hi, int d) {
+		String p = a[lo];
+		int n = p.length();
+		for (int i = lo + 1; i <= hi && n > d; i++) {
+			String s = a[i];
+			int m = Math.min(n, s.length());
+			int j = d;
+			while (j < m && s.charAt(j) == p.charAt(j)) {
+				j++;
+			}
+			n = j;
+		}
+		return n;
+	}
+
+	// is the i-th char of every string of a[lo..hi] that has one below 256 ?
+	private static boolean latin1(String[] a, int lo, int hi, int i) {
+		for (int k = lo; k <= hi; k++) {
+			if (i < a[k].length() && a[k].charAt(i) >= 256)
+				return false;
+		}
+		return true;
+	}
+
+	// return d-th byte of s (the high byte of a char first), -1 if s has ended
+	private static int byteAt(String s, int d) {
+		int i = d >>> 1;
+		if (i >= s.length())
+			return -1;
+		char c = s.charAt(i);
+		return (d & 1) == 0 ? c >>> 8 : c & 0xFF;
+	}
+
+	// insertion sort a[lo..hi] whose strings share the first d characters,
+	// with a sentinel and half exchanges (see InsertionX)
+	private static void insertionSort(String[] a, int lo, int hi, int d) {
+		// put smallest element in position to serve as sentinel
+		int exchanges = 0;
+		for (int i = hi; i > lo; i--) {
+			if (less(a[i], a[i - 1], d)) {
+				exch(a, i, i - 1);
+				exchanges++;
+			}
+		}
+		if (exchanges == 0)
+			return;
+
+		// insertion sort with half-exchanges
+		for (int i = lo + 2; i <= hi; i++) {
+			String v = a[i];
+			int j = i;
+			while (less(v, a[j - 1], d)) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// is v less than w, starting at d-th character ?
+	private static boolean less(String v, String w, int d) {
+		int n = Math.min(v.length(), w.length());
+		for (int i = d; i < n; i++) {
+			char x = v.charAt(i), y = w.charAt(i);
+			if (x != y)
+				return x < y;
+		}
+		return v.length() < w.length();
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(Object[] a, int i, int j) {
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		MSD.sort(a);
+		MSD.print(a);
+	}
+
+}
@@ -10,68 +10,75 @@ public class Merge {
 	private Merge() {
 	}
 
-	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[lo .. hi]
-	private static void merge(Comparable[] a, Comparable[] aux, int lo, int mid, int hi) {
-		// copy a[] to aux[]
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(Comparable[] a, Comparable[] aux, int lo, int mid, int hi, SortMetrics metrics) {
+		// copy a[lo..hi] to aux[0..hi-lo]
 		for (int k = lo; k <= hi; k++) {
-			aux[k] = a[k];
+			aux[k - lo] = a[k];
 		}
 
 		// merge back to a[]
-		int i = lo, j = mid + 1;
+		int i = 0, j = mid + 1 - lo;
 		for (int k = lo; k <= hi; k++) {
-			if (i > mid) {
+			if (i > mid - lo) {
 				a[k] = aux[j++];
-			} else if (j > hi) {
+			} else if (j > hi - lo) {
 				a[k] = aux[i++];
-			} else if (less(aux[j], aux[i])) {
+			} else if (less(metrics, aux[j], aux[i])) {
 				a[k] = aux[j++];
 			} else {
 				a[k] = aux[i++];
 			}
 		}
+		metrics.write(2 * (hi - lo + 1));
 	}
 
-	private static void merge(Object[] a, Object[] aux, Comparator comparator, int lo, int mid, int hi) {
-		// copy a[] to aux[]
+	private static void merge(Object[] a, Object[] aux, Comparator comparator, int lo, int mid, int hi,
+			SortMetrics metrics) {
+		// copy a[lo..hi] to aux[0..hi-lo]
 		for (int k = lo; k <= hi; k++) {
-			aux[k] = a[k];
+			aux[k - lo] = a[k];
 		}
 
 		// merge back to a[]
-		int i = lo, j = mid + 1;
+		int i = 0, j = mid + 1 - lo;
 		for (int k = lo; k <= hi; k++) {
-			if (i > mid) {
+			if (i > mid - lo) {
 				a[k] = aux[j++];
-			} else if (j > hi) {
+			} else if (j > hi - lo) {
 				a[k] = aux[i++];
-			} else if (less(comparator, aux[j], aux[i])) {
+			} else if (less(metrics, comparator, aux[j], aux[i])) {
 				a[k] = aux[j++];
 			} else {
 				a[k] = aux[i++];
 			}
 		}
+		metrics.write(2 * (hi - lo + 1));
 	}
 
 	// mergesort a[lo..hi] using auxiliary array aux[lo..hi]
-	private static void sort(Comparable[] a, Comparable[] aux, int lo, int hi) {
+	private static void sort(Comparable[] a, Comparable[] aux, int lo, int hi, SortMetrics metrics) {
 		if (hi <= lo)
 			return;
 
+		metrics.enter();
 		int mid = lo + (hi - lo) / 2;
-		sort(a, aux, lo, mid);
-		sort(a, aux, mid + 1, hi);
-		merge(a, aux, lo, mid, hi);
+		sort(a, aux, lo, mid, metrics);
+		sort(a, aux, mid + 1, hi, metrics);
+		merge(a, aux, lo, mid, hi, metrics);
+		metrics.exit();
 	}
 
-	private static void sort(Object[] a, Object[] aux, Comparator comparator, int lo, int hi) {
+	private static void sort(Object[] a, Object[] aux, Comparator comparator, int lo, int hi, SortMetrics metrics) {
 		if (hi <= lo)
 			return;
 
+		metrics.enter();
 		int mid = lo + (hi - lo) / 2;
-		sort(a, aux, comparator, lo, mid);
-		sort(a, aux, comparator, mid + 1, hi);
-		merge(a, aux, comparator, lo, mid, hi);
+		sort(a, aux, comparator, lo, mid, metrics);
+		sort(a, aux, comparator, mid + 1, hi, metrics);
+		merge(a, aux, comparator, lo, mid, hi, metrics);
+		metrics.exit();
 	}
 
 	/**
@@ -81,8 +88,88 @@ public class Merge {
 	 *            the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		Comparable[] aux = new Comparable[a.length];
-		sort(a, aux, 0, a.length - 1);
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		Comparable[] aux = ScratchPool.comparables(hi - lo, metrics);
+		sort(a, aux, lo, hi - 1, metrics);
+		ScratchPool.release(aux, hi - lo);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and the
+	 * given scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param scratch
+	 *            an array of at least a.length elements, overwritten by the sort
+	 */
+	public static void sort(Comparable[] a, Comparable[] scratch) {
+		sort(a, 0, a.length, scratch);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and the given scratch array as auxiliary memory instead of
+	 * allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param scratch
+	 *            an array of at least hi - lo elements, overwritten by the sort
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, Comparable[] scratch) {
+		Ranges.check(a.length, lo, hi);
+		ScratchPool.check(scratch, hi - lo);
+		sort(a, scratch, lo, hi - 1, SortMetrics.NONE);
 	}
 
 	/**
@@ -94,8 +181,132 @@ public class Merge {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
-		Object[] aux = new Object[a.length];
-		sort(a, aux, comparator, 0, a.length - 1);
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		Object[] aux = ScratchPool.objects(hi - lo, metrics);
+		sort(a, aux, comparator, lo, hi - 1, metrics);
+		ScratchPool.release(aux, hi - lo);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and the given
+	 * scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param scratch
+	 *            an array of at least a.length elements, overwritten by the sort
+	 */
+	public static void sort(Comparator comparator, Object[] a, Object[] scratch) {
+		sort(comparator, a, 0, a.length, scratch);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and the given scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param scratch
+	 *            an array of at least hi - lo elements, overwritten by the sort
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, Object[] scratch) {
+		Ranges.check(a.length, lo, hi);
+		ScratchPool.check(scratch, hi - lo);
+		sort(a, scratch, comparator, lo, hi - 1, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		int[] aux = new int[a.length];
+		sort(a, aux, 0, a.length - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		long[] aux = new long[a.length];
+		sort(a, aux, 0, a.length - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		double[] aux = new double[a.length];
+		sort(a, aux, 0, a.length - 1);
 	}
 
 	/**
@@ -110,16 +321,129 @@ public class Merge {
 		}
 	}
 
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(int[] a, int[] aux, int lo, int mid, int hi) {
+		// copy a[lo..hi] to aux[0..hi-lo]
+		for (int k = lo; k <= hi; k++) {
+			aux[k - lo] = a[k];
+		}
+
+		// merge back to a[]
+		int i = 0, j = mid + 1 - lo;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid - lo) {
+				a[k] = aux[j++];
+			} else if (j > hi - lo) {
+				a[k] = aux[i++];
+			} else if (less(aux[j], aux[i])) {
+				a[k] = aux[j++];
+			} else {
+				a[k] = aux[i++];
+			}
+		}
+	}
+
+	private static void sort(int[] a, int[] aux, int lo, int hi) {
+		if (hi <= lo)
+			return;
+
+		int mid = lo + (hi - lo) / 2;
+		sort(a, aux, lo, mid);
+		sort(a, aux, mid + 1, hi);
+		merge(a, aux, lo, mid, hi);
+	}
+
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(long[] a, long[] aux, int lo, int mid, int hi) {
+		// copy a[lo..hi] to aux[0..hi-lo]
+		for (int k = lo; k <= hi; k++) {
+			aux[k - lo] = a[k];
+		}
+
+		// merge back to a[]
+		int i = 0, j = mid + 1 - lo;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid - lo) {
+				a[k] = aux[j++];
+			} else if (j > hi - lo) {
+				a[k] = aux[i++];
+			} else if (less(aux[j], aux[i])) {
+				a[k] = aux[j++];
+			} else {
+				a[k] = aux[i++];
+			}
+		}
+	}
+
+	private static void sort(long[] a, long[] aux, int lo, int hi) {
+		if (hi <= lo)
+			return;
+
+		int mid = lo + (hi - lo) / 2;
+		sort(a, aux, lo, mid);
+		sort(a, aux, mid + 1, hi);
+		merge(a, aux, lo, mid, hi);
+	}
+
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(double[] a, double[] aux, int lo, int mid, int hi) {
+		// copy a[lo..hi] to aux[0..hi-lo]
+		for (int k = lo; k <= hi; k++) {
+			aux[k - lo] = a[k];
+		}
+
+		// merge back to a[]
+		int i = 0, j = mid + 1 - lo;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid - lo) {
+				a[k] = aux[j++];
+			} else if (j > hi - lo) {
+				a[k] = aux[i++];
+			} else if (less(aux[j], aux[i])) {
+				a[k] = aux[j++];
+			} else {
+				a[k] = aux[i++];
+			}
+		}
+	}
+
+	private static void sort(double[] a, double[] aux, int lo, int hi) {
+		if (hi <= lo)
+			return;
+
+		int mid = lo + (hi - lo) / 2;
+		sort(a, aux, lo, mid);
+		sort(a, aux, mid + 1, hi);
+		merge(a, aux, lo, mid, hi);
+	}
+
 	// a < b ?
-	private static boolean less(Comparable a, Comparable b) {
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
 		return a.compareTo(b) < 0;
 	}
 
 	// a < b ?
-	private static boolean less(Comparator comparator, Object a, Object b) {
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
 		return comparator.compare(a, b) < 0;
 	}
 
+	// a < b ?
+	private static boolean less(int a, int b) {
+		return a < b;
+	}
+
+	// a < b ?
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
+	}
+
 	// test
 	public static void main(String[] args) {
 		String[] a = new Scanner(System.in).nextLine().split("\\s+");
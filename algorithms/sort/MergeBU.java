@@ -10,47 +10,50 @@ public class MergeBU {
 	private MergeBU() {
 	};
 
-	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[lo .. hi]
-	private static void merge(Comparable[] a, Comparable[] aux, int lo, int mid, int hi) {
-		// copy a[] to aux[]
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(Comparable[] a, Comparable[] aux, int lo, int mid, int hi, SortMetrics metrics) {
+		// copy a[lo..hi] to aux[0..hi-lo]
 		for (int k = lo; k <= hi; k++) {
-			aux[k] = a[k];
+			aux[k - lo] = a[k];
 		}
 
 		// merge back to a[]
-		int i = lo, j = mid + 1;
+		int i = 0, j = mid + 1 - lo;
 		for (int k = lo; k <= hi; k++) {
-			if (i > mid) {
+			if (i > mid - lo) {
 				a[k] = aux[j++];
-			} else if (j > hi) {
+			} else if (j > hi - lo) {
 				a[k] = aux[i++];
-			} else if (less(aux[j], aux[i])) {
+			} else if (less(metrics, aux[j], aux[i])) {
 				a[k] = aux[j++];
 			} else {
 				a[k] = aux[i++];
 			}
 		}
+		metrics.write(2 * (hi - lo + 1));
 	}
 
-	private static void merge(Object[] a, Object[] aux, Comparator comparator, int lo, int mid, int hi) {
-		// copy a[] to aux[]
+	private static void merge(Object[] a, Object[] aux, Comparator comparator, int lo, int mid, int hi,
+			SortMetrics metrics) {
+		// copy a[lo..hi] to aux[0..hi-lo]
 		for (int k = lo; k <= hi; k++) {
-			aux[k] = a[k];
+			aux[k - lo] = a[k];
 		}
 
 		// merge back to a[]
-		int i = lo, j = mid + 1;
+		int i = 0, j = mid + 1 - lo;
 		for (int k = lo; k <= hi; k++) {
-			if (i > mid) {
+			if (i > mid - lo) {
 				a[k] = aux[j++];
-			} else if (j > hi) {
+			} else if (j > hi - lo) {
 				a[k] = aux[i++];
-			} else if (less(comparator, aux[j], aux[i])) {
+			} else if (less(metrics, comparator, aux[j], aux[i])) {
 				a[k] = aux[j++];
 			} else {
 				a[k] = aux[i++];
 			}
 		}
+		metrics.write(2 * (hi - lo + 1));
 	}
 
 	/**
@@ -60,13 +63,98 @@ public class MergeBU {
 	 *            the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		int N = a.length;
-		Comparable[] aux = new Comparable[N];
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		Comparable[] aux = ScratchPool.comparables(hi - lo, metrics);
+		sort(a, lo, hi, aux, metrics);
+		ScratchPool.release(aux, hi - lo);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and the
+	 * given scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param scratch
+	 *            an array of at least a.length elements, overwritten by the sort
+	 */
+	public static void sort(Comparable[] a, Comparable[] scratch) {
+		sort(a, 0, a.length, scratch);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and the given scratch array as auxiliary memory instead of
+	 * allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param scratch
+	 *            an array of at least hi - lo elements, overwritten by the sort
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, Comparable[] scratch) {
+		Ranges.check(a.length, lo, hi);
+		ScratchPool.check(scratch, hi - lo);
+		sort(a, lo, hi, scratch, SortMetrics.NONE);
+	}
+
+	// merge the runs of length 1, 2, 4, ... of a[lo..hi) using aux[0..hi-lo)
+	private static void sort(Comparable[] a, int lo, int hi, Comparable[] aux, SortMetrics metrics) {
+		int N = hi - lo;
 		for (int len = 1; len < N; len *= 2) {
-			for (int lo = 0; lo < N - len; lo += len + len) {
-				int mid = lo + len - 1;
-				int hi = Math.min(lo + len + len - 1, N - 1);
-				merge(a, aux, lo, mid, hi);
+			for (int i = lo; i < hi - len; i += len + len) {
+				int mid = i + len - 1;
+				int end = Math.min(i + len + len - 1, hi - 1);
+				merge(a, aux, i, mid, end, metrics);
 			}
 		}
 	}
@@ -80,13 +168,267 @@ public class MergeBU {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		Object[] aux = ScratchPool.objects(hi - lo, metrics);
+		sort(a, lo, hi, aux, comparator, metrics);
+		ScratchPool.release(aux, hi - lo);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and the given
+	 * scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param scratch
+	 *            an array of at least a.length elements, overwritten by the sort
+	 */
+	public static void sort(Comparator comparator, Object[] a, Object[] scratch) {
+		sort(comparator, a, 0, a.length, scratch);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and the given scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param scratch
+	 *            an array of at least hi - lo elements, overwritten by the sort
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, Object[] scratch) {
+		Ranges.check(a.length, lo, hi);
+		ScratchPool.check(scratch, hi - lo);
+		sort(a, lo, hi, scratch, comparator, SortMetrics.NONE);
+	}
+
+	private static void sort(Object[] a, int lo, int hi, Object[] aux, Comparator comparator, SortMetrics metrics) {
+		int N = hi - lo;
+		for (int len = 1; len < N; len *= 2) {
+			for (int i = lo; i < hi - len; i += len + len) {
+				int mid = i + len - 1;
+				int end = Math.min(i + len + len - 1, hi - 1);
+				merge(a, aux, comparator, i, mid, end, metrics);
+			}
+		}
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * taking advantage of runs already present in the input. Ascending and
+	 * strictly descending runs (which are reversed) are found first, short runs
+	 * are extended to a minimum length by binary insertion sort and the runs are
+	 * merged through a stack that keeps the merges balanced, so presorted input
+	 * is sorted in O(n) and the worst case stays O(n log n).
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void adaptiveSort(Comparable[] a) {
+		adaptiveSort(a, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * taking advantage of runs already present in the input (see
+	 * {@link #adaptiveSort(Comparable[])}), reporting the operations of the
+	 * sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void adaptiveSort(Comparable[] a, SortMetrics metrics) {
+		int N = a.length;
+		if (N < 2)
+			return;
+		Comparable[] aux = ScratchPool.comparables(N, metrics);
+		int minRun = minRunLength(N);
+		RunStack runs = new RunStack();
+		for (int lo = 0; lo < N;) {
+			int len = countRunAndMakeAscending(a, lo, N, metrics);
+			if (len < minRun) {
+				int force = Math.min(minRun, N - lo);
+				binaryInsertionSort(a, lo, lo + force, lo + len, metrics);
+				len = force;
+			}
+			runs.push(lo, len);
+			for (int i = runs.collapseIndex(); i >= 0; i = runs.collapseIndex()) {
+				mergeAt(a, aux, runs, i, metrics);
+			}
+			lo += len;
+		}
+		while (runs.size > 1) {
+			mergeAt(a, aux, runs, runs.forceCollapseIndex(), metrics);
+		}
+		ScratchPool.release(aux, N);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and taking
+	 * advantage of runs already present in the input (see
+	 * {@link #adaptiveSort(Comparable[])}).
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void adaptiveSort(Comparator comparator, Object[] a) {
+		adaptiveSort(comparator, a, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and taking
+	 * advantage of runs already present in the input (see
+	 * {@link #adaptiveSort(Comparable[])}), reporting the operations of the
+	 * sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void adaptiveSort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		int N = a.length;
+		if (N < 2)
+			return;
+		Object[] aux = ScratchPool.objects(N, metrics);
+		int minRun = minRunLength(N);
+		RunStack runs = new RunStack();
+		for (int lo = 0; lo < N;) {
+			int len = countRunAndMakeAscending(a, lo, N, comparator, metrics);
+			if (len < minRun) {
+				int force = Math.min(minRun, N - lo);
+				binaryInsertionSort(a, lo, lo + force, lo + len, comparator, metrics);
+				len = force;
+			}
+			runs.push(lo, len);
+			for (int i = runs.collapseIndex(); i >= 0; i = runs.collapseIndex()) {
+				mergeAt(a, aux, runs, i, comparator, metrics);
+			}
+			lo += len;
+		}
+		while (runs.size > 1) {
+			mergeAt(a, aux, runs, runs.forceCollapseIndex(), comparator, metrics);
+		}
+		ScratchPool.release(aux, N);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
 		int N = a.length;
-		Object[] aux = new Object[N];
+		int[] aux = new int[N];
 		for (int len = 1; len < N; len *= 2) {
 			for (int lo = 0; lo < N - len; lo += len + len) {
 				int mid = lo + len - 1;
 				int hi = Math.min(lo + len + len - 1, N - 1);
-				merge(a, aux, comparator, lo, mid, hi);
+				merge(a, aux, lo, mid, hi);
+			}
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		int N = a.length;
+		long[] aux = new long[N];
+		for (int len = 1; len < N; len *= 2) {
+			for (int lo = 0; lo < N - len; lo += len + len) {
+				int mid = lo + len - 1;
+				int hi = Math.min(lo + len + len - 1, N - 1);
+				merge(a, aux, lo, mid, hi);
+			}
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		int N = a.length;
+		double[] aux = new double[N];
+		for (int len = 1; len < N; len *= 2) {
+			for (int lo = 0; lo < N - len; lo += len + len) {
+				int mid = lo + len - 1;
+				int hi = Math.min(lo + len + len - 1, N - 1);
+				merge(a, aux, lo, mid, hi);
 			}
 		}
 	}
@@ -103,16 +445,282 @@ public class MergeBU {
 		}
 	}
 
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(int[] a, int[] aux, int lo, int mid, int hi) {
+		// copy a[lo..hi] to aux[0..hi-lo]
+		for (int k = lo; k <= hi; k++) {
+			aux[k - lo] = a[k];
+		}
+
+		// merge back to a[]
+		int i = 0, j = mid + 1 - lo;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid - lo) {
+				a[k] = aux[j++];
+			} else if (j > hi - lo) {
+				a[k] = aux[i++];
+			} else if (less(aux[j], aux[i])) {
+				a[k] = aux[j++];
+			} else {
+				a[k] = aux[i++];
+			}
+		}
+	}
+
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(long[] a, long[] aux, int lo, int mid, int hi) {
+		// copy a[lo..hi] to aux[0..hi-lo]
+		for (int k = lo; k <= hi; k++) {
+			aux[k - lo] = a[k];
+		}
+
+		// merge back to a[]
+		int i = 0, j = mid + 1 - lo;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid - lo) {
+				a[k] = aux[j++];
+			} else if (j > hi - lo) {
+				a[k] = aux[i++];
+			} else if (less(aux[j], aux[i])) {
+				a[k] = aux[j++];
+			} else {
+				a[k] = aux[i++];
+			}
+		}
+	}
+
+	// stably merge a[lo .. mid] with a[mid+1 ..hi] using aux[0 .. hi-lo]
+	private static void merge(double[] a, double[] aux, int lo, int mid, int hi) {
+		// copy a[lo..hi] to aux[0..hi-lo]
+		for (int k = lo; k <= hi; k++) {
+			aux[k - lo] = a[k];
+		}
+
+		// merge back to a[]
+		int i = 0, j = mid + 1 - lo;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid - lo) {
+				a[k] = aux[j++];
+			} else if (j > hi - lo) {
+				a[k] = aux[i++];
+			} else if (less(aux[j], aux[i])) {
+				a[k] = aux[j++];
+			} else {
+				a[k] = aux[i++];
+			}
+		}
+	}
+
+	// runs shorter than this are extended by binary insertion sort
+	private static final int MIN_MERGE = 32;
+
+	// minimum run length such that N / minRun is a power of two or a bit less,
+	// which keeps the final merges balanced
+	private static int minRunLength(int N) {
+		int r = 0; // becomes 1 if any 1 bits are shifted off
+		while (N >= MIN_MERGE) {
+			r |= (N & 1);
+			N >>= 1;
+		}
+		return N + r;
+	}
+
+	// length of the run beginning at a[lo], a strictly descending run is
+	// reversed (strictly, so that the sort stays stable)
+	private static int countRunAndMakeAscending(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		int runHi = lo + 1;
+		if (runHi == hi)
+			return 1;
+		if (less(metrics, a[runHi++], a[lo])) {
+			while (runHi < hi && less(metrics, a[runHi], a[runHi - 1])) {
+				runHi++;
+			}
+			reverse(a, lo, runHi, metrics);
+		} else {
+			while (runHi < hi && !less(metrics, a[runHi], a[runHi - 1])) {
+				runHi++;
+			}
+		}
+		return runHi - lo;
+	}
+
+	private static int countRunAndMakeAscending(Object[] a, int lo, int hi, Comparator comparator,
+			SortMetrics metrics) {
+		int runHi = lo + 1;
+		if (runHi == hi)
+			return 1;
+		if (less(metrics, comparator, a[runHi++], a[lo])) {
+			while (runHi < hi && less(metrics, comparator, a[runHi], a[runHi - 1])) {
+				runHi++;
+			}
+			reverse(a, lo, runHi, metrics);
+		} else {
+			while (runHi < hi && !less(metrics, comparator, a[runHi], a[runHi - 1])) {
+				runHi++;
+			}
+		}
+		return runHi - lo;
+	}
+
+	// reverse a[lo..hi)
+	private static void reverse(Object[] a, int lo, int hi, SortMetrics metrics) {
+		hi--;
+		while (lo < hi) {
+			Object temp = a[lo];
+			a[lo++] = a[hi];
+			a[hi--] = temp;
+			metrics.swap();
+		}
+	}
+
+	// sort a[lo..hi) whose prefix a[lo..start) is already sorted, using binary
+	// insertion sort with half exchanges (see BinaryInsertion)
+	private static void binaryInsertionSort(Comparable[] a, int lo, int hi, int start, SortMetrics metrics) {
+		for (int i = start; i < hi; i++) {
+			Comparable v = a[i];
+			int left = lo, right = i;
+			while (left < right) {
+				int mid = left + (right - left) / 2;
+				if (less(metrics, v, a[mid]))
+					right = mid;
+				else
+					left = mid + 1;
+			}
+			System.arraycopy(a, left, a, left + 1, i - left);
+			a[left] = v;
+			metrics.write(i - left + 1);
+		}
+	}
+
+	private static void binaryInsertionSort(Object[] a, int lo, int hi, int start, Comparator comparator,
+			SortMetrics metrics) {
+		for (int i = start; i < hi; i++) {
+			Object v = a[i];
+			int left = lo, right = i;
+			while (left < right) {
+				int mid = left + (right - left) / 2;
+				if (less(metrics, comparator, v, a[mid]))
+					right = mid;
+				else
+					left = mid + 1;
+			}
+			System.arraycopy(a, left, a, left + 1, i - left);
+			a[left] = v;
+			metrics.write(i - left + 1);
+		}
+	}
+
+	// merge the i-th and (i+1)-th runs of the stack
+	private static void mergeAt(Comparable[] a, Comparable[] aux, RunStack runs, int i, SortMetrics metrics) {
+		int lo = runs.base[i];
+		int mid = lo + runs.len[i] - 1;
+		int hi = mid + runs.len[i + 1];
+		// skip the merge if the runs are already in order
+		if (less(metrics, a[mid + 1], a[mid]))
+			merge(a, aux, lo, mid, hi, metrics);
+		runs.merged(i);
+	}
+
+	private static void mergeAt(Object[] a, Object[] aux, RunStack runs, int i, Comparator comparator,
+			SortMetrics metrics) {
+		int lo = runs.base[i];
+		int mid = lo + runs.len[i] - 1;
+		int hi = mid + runs.len[i + 1];
+		if (less(metrics, comparator, a[mid + 1], a[mid]))
+			merge(a, aux, comparator, lo, mid, hi, metrics);
+		runs.merged(i);
+	}
+
+	/**
+	 * Stack of pending runs. The run lengths are kept growing at least as fast
+	 * as the Fibonacci numbers from the top to the bottom of the stack, so the
+	 * merges stay balanced and the stack never holds more than a few dozen runs.
+	 */
+	private static class RunStack {
+		// enough for 2^31 elements given the invariant and MIN_MERGE / 2 long runs
+		private static final int MAX_RUNS = 49;
+
+		final int[] base = new int[MAX_RUNS];
+		final int[] len = new int[MAX_RUNS];
+		int size;
+
+		void push(int runBase, int runLen) {
+			base[size] = runBase;
+			len[size] = runLen;
+			size++;
+		}
+
+		// index of the next pair of runs to merge so that
+		// len[i - 2] > len[i - 1] + len[i] and len[i - 1] > len[i] hold
+		// for the top of the stack, -1 if they already hold
+		int collapseIndex() {
+			if (size < 2)
+				return -1;
+			int n = size - 2;
+			if (n > 0 && len[n - 1] <= len[n] + len[n + 1] || n > 1 && len[n - 2] <= len[n - 1] + len[n]) {
+				if (len[n - 1] < len[n + 1])
+					n--;
+				return n;
+			}
+			return len[n] <= len[n + 1] ? n : -1;
+		}
+
+		// index of the next pair of runs to merge once the input is exhausted
+		int forceCollapseIndex() {
+			int n = size - 2;
+			if (n > 0 && len[n - 1] < len[n + 1])
+				n--;
+			return n;
+		}
+
+		// the i-th and (i+1)-th runs have been merged into the i-th one
+		void merged(int i) {
+			len[i] += len[i + 1];
+			if (i == size - 3) {
+				base[i + 1] = base[i + 2];
+				len[i + 1] = len[i + 2];
+			}
+			size--;
+		}
+	}
+
 	// a < b ?
 	private static boolean less(Comparable a, Comparable b) {
 		return a.compareTo(b) < 0;
 	}
 
+	// a < b ?
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
+		return a.compareTo(b) < 0;
+	}
+
 	// a < b ?
 	private static boolean less(Comparator comparator, Object a, Object b) {
 		return comparator.compare(a, b) < 0;
 	}
 
+	// a < b ?
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
+		return comparator.compare(a, b) < 0;
+	}
+
+	// a < b ?
+	private static boolean less(int a, int b) {
+		return a < b;
+	}
+
+	// a < b ?
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
+	}
+
 	// test
 	public static void main(String[] args) {
 		String[] a = new Scanner(System.in).nextLine().split("\\s+");
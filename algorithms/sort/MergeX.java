@@ -7,6 +7,13 @@
 public class MergeX {
 	private static final int CUTOFF = 7; // cutoff to insertion sort
 
+	/**
+	 * The default number of consecutive elements taken from the same run after
+	 * which a merge starts galloping, see
+	 * {@link #sort(Comparable[], int, int, int, SortMetrics)}.
+	 */
+	public static final int MIN_GALLOP = 7;
+
 	// This class should not be instantiated.
 	private MergeX() {
 	}
@@ -18,8 +25,124 @@ public class MergeX {
 	 *            the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		Comparable[] aux = a.clone();
-		sort(aux, a, 0, a.length - 1);
+		sort(a, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		sort(a, lo, hi, MIN_GALLOP, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order, galloping after minGallop consecutive elements taken from the same
+	 * run and reporting the operations of the sort to the metrics.
+	 * <p>
+	 * When a merge has taken minGallop elements in a row from one run, it
+	 * assumes that run will keep winning (e.g. a few new records merged into a
+	 * long sorted history) and searches the run for the end of the winning
+	 * block by an exponential search followed by a binary search, then copies
+	 * the block at once. A block of length m then costs O(log m) comparisons
+	 * instead of m. The wins are counted in blocks of minGallop elements that
+	 * grow while the runs interleave, so a random merge costs what it did
+	 * without galloping. A smaller minGallop gallops sooner, which pays off on
+	 * skewed runs but wastes a few comparisons on interleaved ones;
+	 * {@code Integer.MAX_VALUE} never gallops.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param minGallop
+	 *            the number of consecutive wins of a run that starts galloping,
+	 *            at least 1
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, int minGallop, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		checkGallop(minGallop);
+		Comparable[] aux = ScratchPool.comparables(hi - lo, metrics);
+		// aux[] only holds the range, aux[k - lo] is the copy of a[k]
+		System.arraycopy(a, lo, aux, 0, hi - lo);
+		sort(aux, lo, a, 0, lo, hi - 1, minGallop, metrics);
+		ScratchPool.release(aux, hi - lo);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and the
+	 * given scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param scratch
+	 *            an array of at least a.length elements, overwritten by the sort
+	 */
+	public static void sort(Comparable[] a, Comparable[] scratch) {
+		sort(a, 0, a.length, scratch);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and the given scratch array as auxiliary memory instead of
+	 * allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param scratch
+	 *            an array of at least hi - lo elements, overwritten by the sort
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, Comparable[] scratch) {
+		Ranges.check(a.length, lo, hi);
+		ScratchPool.check(scratch, hi - lo);
+		System.arraycopy(a, lo, scratch, 0, hi - lo);
+		sort(scratch, lo, a, 0, lo, hi - 1, MIN_GALLOP, SortMetrics.NONE);
 	}
 
 	/**
@@ -31,11 +154,445 @@ public class MergeX {
 	 *            the comparator that defines the total order
 	 */
 	public static void sort(Object[] a, Comparator comparator) {
-		Object[] aux = a.clone();
-		sort(aux, a, 0, a.length - 1, comparator);
+		sort(a, comparator, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Object[] a, Comparator comparator, SortMetrics metrics) {
+		sort(a, 0, a.length, comparator, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 */
+	public static void sort(Object[] a, int lo, int hi, Comparator comparator) {
+		sort(a, lo, hi, comparator, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
+		sort(a, lo, hi, comparator, MIN_GALLOP, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a
+	 * comparator, galloping after minGallop consecutive elements taken from the
+	 * same run and reporting the operations of the sort to the metrics, see
+	 * {@link #sort(Comparable[], int, int, int, SortMetrics)}.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param minGallop
+	 *            the number of consecutive wins of a run that starts galloping,
+	 *            at least 1
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Object[] a, int lo, int hi, Comparator comparator, int minGallop, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		checkGallop(minGallop);
+		Object[] aux = ScratchPool.objects(hi - lo, metrics);
+		System.arraycopy(a, lo, aux, 0, hi - lo);
+		sort(aux, lo, a, 0, lo, hi - 1, comparator, minGallop, metrics);
+		ScratchPool.release(aux, hi - lo);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and the given
+	 * scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param scratch
+	 *            an array of at least a.length elements, overwritten by the sort
+	 */
+	public static void sort(Object[] a, Comparator comparator, Object[] scratch) {
+		sort(a, 0, a.length, comparator, scratch);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and the given scratch array as auxiliary memory instead of allocating one.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param scratch
+	 *            an array of at least hi - lo elements, overwritten by the sort
+	 */
+	public static void sort(Object[] a, int lo, int hi, Comparator comparator, Object[] scratch) {
+		Ranges.check(a.length, lo, hi);
+		ScratchPool.check(scratch, hi - lo);
+		System.arraycopy(a, lo, scratch, 0, hi - lo);
+		sort(scratch, lo, a, 0, lo, hi - 1, comparator, MIN_GALLOP, SortMetrics.NONE);
+	}
+
+	// stably merge src[lo..mid] with src[mid+1..hi] into dst[to..], in blocks of
+	// minGallop elements at first. When a whole block came from one run, the rest
+	// of its winning block is found by gallop() and copied at once. Checking once
+	// per block keeps the per element loop as cheap as a plain merge, and the
+	// blocks double from the second one in a row that took from both runs, so
+	// that a random merge is not slowed down by short blocks (as TimSort raises
+	// its own minGallop).
+	private static void merge(Comparable[] src, Comparable[] dst, int lo, int mid, int hi, int to, int minGallop,
+			SortMetrics metrics) {
+		int i = lo, j = mid + 1, k = to;
+		int length = minGallop; // of the next block
+		boolean mixed = false; // did the last block take from both runs ?
+		while (i <= mid && j <= hi) {
+			int i0 = i, j0 = j;
+			// neither run runs out within the block
+			int block = Math.min(length, Math.min(mid + 1 - i, hi + 1 - j));
+			for (int stop = k + block; k < stop; k++) {
+				if (less(metrics, src[j], src[i]))
+					dst[k] = src[j++];
+				else
+					dst[k] = src[i++];
+			}
+			boolean right = j - j0 == block;
+			if (!right && i - i0 != block) {
+				if (mixed && length <= Integer.MAX_VALUE / 2)
+					length *= 2;
+				mixed = true;
+			} else if (block == length && i <= mid && j <= hi) {
+				// the right elements smaller than src[i], or the left elements
+				// not larger than src[j], go next
+				int from = right ? j : i;
+				int n = gallop(metrics, right ? src[i] : src[j], src, from, right ? hi + 1 : mid + 1, !right);
+				System.arraycopy(src, from, dst, k, n);
+				if (right)
+					j += n;
+				else
+					i += n;
+				k += n;
+				length = minGallop;
+				mixed = false;
+			}
+		}
+		System.arraycopy(src, i, dst, k, mid + 1 - i);
+		System.arraycopy(src, j, dst, k + mid + 1 - i, hi + 1 - j);
+		metrics.write(hi - lo + 1);
+	}
+
+	private static void merge(Object[] src, Object[] dst, Comparator comparator, int lo, int mid, int hi, int to,
+			int minGallop, SortMetrics metrics) {
+		int i = lo, j = mid + 1, k = to;
+		int length = minGallop; // of the next block
+		boolean mixed = false; // did the last block take from both runs ?
+		while (i <= mid && j <= hi) {
+			int i0 = i, j0 = j;
+			// neither run runs out within the block
+			int block = Math.min(length, Math.min(mid + 1 - i, hi + 1 - j));
+			for (int stop = k + block; k < stop; k++) {
+				if (less(metrics, comparator, src[j], src[i]))
+					dst[k] = src[j++];
+				else
+					dst[k] = src[i++];
+			}
+			boolean right = j - j0 == block;
+			if (!right && i - i0 != block) {
+				if (mixed && length <= Integer.MAX_VALUE / 2)
+					length *= 2;
+				mixed = true;
+			} else if (block == length && i <= mid && j <= hi) {
+				int from = right ? j : i;
+				int n = gallop(metrics, comparator, right ? src[i] : src[j], src, from, right ? hi + 1 : mid + 1, !right);
+				System.arraycopy(src, from, dst, k, n);
+				if (right)
+					j += n;
+				else
+					i += n;
+				k += n;
+				length = minGallop;
+				mixed = false;
+			}
+		}
+		System.arraycopy(src, i, dst, k, mid + 1 - i);
+		System.arraycopy(src, j, dst, k + mid + 1 - i, hi + 1 - j);
+		metrics.write(hi - lo + 1);
+	}
+
+	// the number of elements at the start of the sorted a[lo..hi) that go before
+	// key: the ones less than key, or also the equal ones if ties is true, so
+	// that equal elements keep their order. Probe a[lo], a[lo+1], a[lo+3],
+	// a[lo+7], ... until one does not, then binary search the last interval as
+	// BinaryInsertion does.
+	private static int gallop(SortMetrics metrics, Comparable key, Comparable[] a, int lo, int hi, boolean ties) {
+		int last = 0, ofs = 0; // a[lo..lo+last) go before key
+		while (lo + ofs < hi && before(metrics, a[lo + ofs], key, ties)) {
+			last = ofs + 1;
+			ofs = 2 * ofs + 1;
+		}
+		int left = lo + last, right = Math.min(lo + ofs, hi);
+		while (left < right) {
+			int middle = left + (right - left) / 2;
+			if (before(metrics, a[middle], key, ties))
+				left = middle + 1;
+			else
+				right = middle;
+		}
+		return left - lo;
+	}
+
+	private static int gallop(SortMetrics metrics, Comparator comparator, Object key, Object[] a, int lo, int hi,
+			boolean ties) {
+		int last = 0, ofs = 0;
+		while (lo + ofs < hi && before(metrics, comparator, a[lo + ofs], key, ties)) {
+			last = ofs + 1;
+			ofs = 2 * ofs + 1;
+		}
+		int left = lo + last, right = Math.min(lo + ofs, hi);
+		while (left < right) {
+			int middle = left + (right - left) / 2;
+			if (before(metrics, comparator, a[middle], key, ties))
+				left = middle + 1;
+			else
+				right = middle;
+		}
+		return left - lo;
+	}
+
+	// x < key, or x <= key if ties ?
+	private static boolean before(SortMetrics metrics, Comparable x, Comparable key, boolean ties) {
+		return ties ? !less(metrics, key, x) : less(metrics, x, key);
+	}
+
+	private static boolean before(SortMetrics metrics, Comparator comparator, Object x, Object key, boolean ties) {
+		return ties ? !less(metrics, comparator, key, x) : less(metrics, comparator, x, key);
+	}
+
+	private static void checkGallop(int minGallop) {
+		if (minGallop < 1)
+			throw new IllegalArgumentException("minGallop must be at least 1, got " + minGallop + ".");
+	}
+
+	// sort the elements lo..hi from src[] into dst[], both hold the same elements
+	// on entry. Element k is stored at src[k - srcOff] and dst[k - dstOff], so
+	// that a range of a[] can be sorted with an aux[] no longer than the range.
+	private static void sort(Comparable[] src, int srcOff, Comparable[] dst, int dstOff, int lo, int hi,
+			int minGallop, SortMetrics metrics) {
+		// if (hi <= lo) return;
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dst, lo - dstOff, hi - dstOff, metrics);
+			return;
+		}
+		metrics.enter();
+		int mid = lo + (hi - lo) / 2;
+		sort(dst, dstOff, src, srcOff, lo, mid, minGallop, metrics);
+		sort(dst, dstOff, src, srcOff, mid + 1, hi, minGallop, metrics);
+
+		// using System.arraycopy() is a bit faster than the above loop
+		if (!less(metrics, src[mid + 1 - srcOff], src[mid - srcOff])) {
+			System.arraycopy(src, lo - srcOff, dst, lo - dstOff, hi - lo + 1);
+			metrics.write(hi - lo + 1);
+		} else {
+			merge(src, dst, lo - srcOff, mid - srcOff, hi - srcOff, lo - dstOff, minGallop, metrics);
+		}
+		metrics.exit();
+	}
+
+	private static void sort(Object[] src, int srcOff, Object[] dst, int dstOff, int lo, int hi,
+			Comparator comparator, int minGallop, SortMetrics metrics) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dst, lo - dstOff, hi - dstOff, comparator, metrics);
+			return;
+		}
+		metrics.enter();
+		int mid = lo + (hi - lo) / 2;
+		sort(dst, dstOff, src, srcOff, lo, mid, comparator, minGallop, metrics);
+		sort(dst, dstOff, src, srcOff, mid + 1, hi, comparator, minGallop, metrics);
+
+		// using System.arraycopy() is a bit faster than the above loop
+		if (!less(metrics, comparator, src[mid + 1 - srcOff], src[mid - srcOff])) {
+			System.arraycopy(src, lo - srcOff, dst, lo - dstOff, hi - lo + 1);
+			metrics.write(hi - lo + 1);
+		} else {
+			merge(src, dst, comparator, lo - srcOff, mid - srcOff, hi - srcOff, lo - dstOff, minGallop, metrics);
+		}
+		metrics.exit();
+	}
+
+	// using insertion sort handle small array
+	private static void insertionSort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		for (int i = lo; i <= hi; i++) {
+			for (int j = i; j > lo && less(metrics, a[j], a[j - 1]); j--) {
+				exch(metrics, a, j, j - 1);
+			}
+		}
+	}
+
+	private static void insertionSort(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
+		for (int i = lo; i <= hi; i++) {
+			for (int j = i; j > lo && less(metrics, comparator, a[j], a[j - 1]); j--) {
+				exch(metrics, a, j, j - 1);
+			}
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		int[] aux = a.clone();
+		sort(aux, a, 0, a.length - 1);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code int} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(int[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		// the recursion indexes both arrays alike, sort a copy of the range
+		int n = hi - lo;
+		int[] b = new int[n];
+		System.arraycopy(a, lo, b, 0, n);
+		int[] aux = b.clone();
+		sort(aux, b, 0, n - 1);
+		System.arraycopy(b, 0, a, lo, n);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		long[] aux = a.clone();
+		sort(aux, a, 0, a.length - 1);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code long} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(long[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		// the recursion indexes both arrays alike, sort a copy of the range
+		int n = hi - lo;
+		long[] b = new long[n];
+		System.arraycopy(a, lo, b, 0, n);
+		long[] aux = b.clone();
+		sort(aux, b, 0, n - 1);
+		System.arraycopy(b, 0, a, lo, n);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		double[] aux = a.clone();
+		sort(aux, a, 0, a.length - 1);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code double} values in
+	 * ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(double[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		// the recursion indexes both arrays alike, sort a copy of the range
+		int n = hi - lo;
+		double[] b = new double[n];
+		System.arraycopy(a, lo, b, 0, n);
+		double[] aux = b.clone();
+		sort(aux, b, 0, n - 1);
+		System.arraycopy(b, 0, a, lo, n);
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
 	}
 
-	private static void merge(Comparable[] src, Comparable[] dst, int lo, int mid, int hi) {
+	private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
 		int i = lo, j = mid + 1;
 		for (int k = lo; k <= hi; k++) {
 			if (i > mid) {
@@ -50,14 +607,39 @@ public class MergeX {
 		}
 	}
 
-	private static void merge(Object[] src, Object[] dst, Comparator comparator, int lo, int mid, int hi) {
+	private static void sort(int[] src, int[] dst, int lo, int hi) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dst, lo, hi);
+			return;
+		}
+		int mid = lo + (hi - lo) / 2;
+		sort(dst, src, lo, mid);
+		sort(dst, src, mid + 1, hi);
+
+		if (!less(src[mid + 1], src[mid])) {
+			System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+			return;
+		}
+
+		merge(src, dst, lo, mid, hi);
+	}
+
+	private static void insertionSort(int[] a, int lo, int hi) {
+		for (int i = lo; i <= hi; i++) {
+			for (int j = i; j > lo && less(a[j], a[j - 1]); j--) {
+				exch(a, j, j - 1);
+			}
+		}
+	}
+
+	private static void merge(long[] src, long[] dst, int lo, int mid, int hi) {
 		int i = lo, j = mid + 1;
 		for (int k = lo; k <= hi; k++) {
 			if (i > mid) {
 				dst[k] = src[j++];
 			} else if (j > hi) {
 				dst[k] = src[i++];
-			} else if (less(comparator, src[j], src[i])) {
+			} else if (less(src[j], src[i])) {
 				dst[k] = src[j++];
 			} else {
 				dst[k] = src[i++];
@@ -65,8 +647,7 @@ public class MergeX {
 		}
 	}
 
-	private static void sort(Comparable[] src, Comparable[] dst, int lo, int hi) {
-		// if (hi <= lo) return;
+	private static void sort(long[] src, long[] dst, int lo, int hi) {
 		if (hi <= lo + CUTOFF) {
 			insertionSort(dst, lo, hi);
 			return;
@@ -75,7 +656,6 @@ public class MergeX {
 		sort(dst, src, lo, mid);
 		sort(dst, src, mid + 1, hi);
 
-		// using System.arraycopy() is a bit faster than the above loop
 		if (!less(src[mid + 1], src[mid])) {
 			System.arraycopy(src, lo, dst, lo, hi - lo + 1);
 			return;
@@ -84,26 +664,47 @@ public class MergeX {
 		merge(src, dst, lo, mid, hi);
 	}
 
-	private static void sort(Object[] src, Object[] dst, int lo, int hi, Comparator comparator) {
+	private static void insertionSort(long[] a, int lo, int hi) {
+		for (int i = lo; i <= hi; i++) {
+			for (int j = i; j > lo && less(a[j], a[j - 1]); j--) {
+				exch(a, j, j - 1);
+			}
+		}
+	}
+
+	private static void merge(double[] src, double[] dst, int lo, int mid, int hi) {
+		int i = lo, j = mid + 1;
+		for (int k = lo; k <= hi; k++) {
+			if (i > mid) {
+				dst[k] = src[j++];
+			} else if (j > hi) {
+				dst[k] = src[i++];
+			} else if (less(src[j], src[i])) {
+				dst[k] = src[j++];
+			} else {
+				dst[k] = src[i++];
+			}
+		}
+	}
+
+	private static void sort(double[] src, double[] dst, int lo, int hi) {
 		if (hi <= lo + CUTOFF) {
-			insertionSort(dst, lo, hi, comparator);
+			insertionSort(dst, lo, hi);
 			return;
 		}
 		int mid = lo + (hi - lo) / 2;
-		sort(dst, src, lo, mid, comparator);
-		sort(dst, src, mid + 1, hi, comparator);
+		sort(dst, src, lo, mid);
+		sort(dst, src, mid + 1, hi);
 
-		// using System.arraycopy() is a bit faster than the above loop
-		if (!less(comparator, src[mid + 1], src[mid])) {
+		if (!less(src[mid + 1], src[mid])) {
 			System.arraycopy(src, lo, dst, lo, hi - lo + 1);
 			return;
 		}
 
-		merge(src, dst, comparator, lo, mid, hi);
+		merge(src, dst, lo, mid, hi);
 	}
 
-	// using insertion sort handle small array
-	private static void insertionSort(Comparable[] a, int lo, int hi) {
+	private static void insertionSort(double[] a, int lo, int hi) {
 		for (int i = lo; i <= hi; i++) {
 			for (int j = i; j > lo && less(a[j], a[j - 1]); j--) {
 				exch(a, j, j - 1);
@@ -111,39 +712,58 @@ public class MergeX {
 		}
 	}
 
-	private static void insertionSort(Object[] a, int lo, int hi, Comparator comparator) {
-		for (int i = lo; i <= hi; i++) {
-			for (int j = i; j > lo && less(comparator, a[j], a[j - 1]); j--) {
-				exch(a, j, j - 1);
-			}
-		}
+	// a < b ?
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
+		return a.compareTo(b) < 0;
 	}
 
-	/**
-	 * Print array elements to console
-	 *
-	 * @param a
-	 *            a the array element print to console
-	 */
-	public static void print(Object[] a) {
-		for (int i = 0; i < a.length; i++) {
-			System.out.print(a[i] + " ");
-		}
+	// a < b ?
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
+		return comparator.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(SortMetrics metrics, Object[] a, int i, int j) {
+		metrics.swap();
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
 	}
 
 	// a < b ?
-	private static boolean less(Comparable a, Comparable b) {
-		return a.compareTo(b) < 0;
+	private static boolean less(int a, int b) {
+		return a < b;
 	}
 
 	// a < b ?
-	private static boolean less(Comparator comparator, Object a, Object b) {
-		return comparator.compare(a, b) < 0;
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
 	}
 
 	// exchange a[i] and a[j]
-	private static void exch(Object[] a, int i, int j) {
-		Object temp = a[i];
+	private static void exch(int[] a, int i, int j) {
+		int temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(long[] a, int i, int j) {
+		long temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(double[] a, int i, int j) {
+		double temp = a[i];
 		a[i] = a[j];
 		a[j] = temp;
 	}
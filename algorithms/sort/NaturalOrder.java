@@ -0,0 +1,22 @@
+import java.util.Comparator;
+
+/**
+ * The natural order of Comparable elements as a Comparator, so that the sorts
+ * whose Comparable path is implemented by their Comparator path share one
+ * instance.
+ *
+ * @author SylvanasSun
+ *
+ */
+final class NaturalOrder implements Comparator<Object> {
+	static final NaturalOrder INSTANCE = new NaturalOrder();
+
+	private NaturalOrder() {
+	}
+
+	@Override
+	public int compare(Object a, Object b) {
+		return ((Comparable) a).compareTo(b);
+	}
+
+}
@@ -0,0 +1,398 @@
+import java.util.Comparator;
+import java.util.Scanner;
+
+/**
+ * Pattern-defeating Quick Sort (pdqsort). A general purpose unstable sort
+ * which adapts to the input without shuffling it:
+ * <ul>
+ * <li>the partition element is the median of three, or the ninther (median
+ * of three medians) for large subarrays;</li>
+ * <li>if a partition did not move any element, both parts are finished by an
+ * insertion sort that gives up after a few moves, so sorted and nearly sorted
+ * runs cost O(n);</li>
+ * <li>if the partition element is equal to the element before the subarray
+ * (the largest one of the left part) the keys equal to it are put aside in one
+ * pass, like the a[lt..gt] range of {@link Quick3way}, so duplicate-heavy
+ * input costs O(n log k) for k distinct keys;</li>
+ * <li>a highly unbalanced partition swaps a few elements around to break the
+ * pattern of the input, and after log2(n) bad partitions the subarray is
+ * sorted by heapsort, which bounds the worst case to O(n log n).</li>
+ * </ul>
+ * The scans of the partitions and of the insertion sort are unguarded, they
+ * stop at elements that a consistent order guarantees. A comparator that
+ * violates its contract is detected before a scan leaves the subarray and an
+ * IllegalArgumentException is thrown, the subarray is still a permutation of
+ * its elements and the rest of the array is untouched.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class PDQSort {
+	private static final int INSERTION_SORT_THRESHOLD = 24; // cutoff to insertion sort
+	private static final int NINTHER_THRESHOLD = 128; // cutoff to ninther
+	private static final int PARTIAL_INSERTION_SORT_LIMIT = 8; // moves allowed
+
+	// This class should not be instantiated.
+	private PDQSort() {
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order.
+	 *
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparable[] a) {
+		sort(NaturalOrder.INSTANCE, a);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(NaturalOrder.INSTANCE, a, lo, hi);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a) {
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		if (hi - lo < 2)
+			return;
+		// a[lo - 1] is not known to be <= the range, so it is still leftmost
+		sort(a, lo, hi, log2(hi - lo), true, comparator);
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// sort a[begin..end), leftmost is true if a[begin] has no predecessor
+	// which can serve as a sentinel, badAllowed is the number of unbalanced
+	// partitions left before falling back to heapsort
+	private static void sort(Object[] a, int begin, int end, int badAllowed, boolean leftmost,
+			Comparator comparator) {
+		while (true) {
+			int size = end - begin;
+			if (size < INSERTION_SORT_THRESHOLD) {
+				if (leftmost)
+					insertionSort(a, begin, end, comparator);
+				else
+					unguardedInsertionSort(a, begin, end, comparator);
+				return;
+			}
+
+			// choose the partition element and move it to a[begin]
+			int s2 = size / 2;
+			if (size > NINTHER_THRESHOLD) {
+				sort3(a, begin, begin + s2, end - 1, comparator);
+				sort3(a, begin + 1, begin + (s2 - 1), end - 2, comparator);
+				sort3(a, begin + 2, begin + (s2 + 1), end - 3, comparator);
+				sort3(a, begin + (s2 - 1), begin + s2, begin + (s2 + 1), comparator);
+				exch(a, begin, begin + s2);
+			} else {
+				sort3(a, begin + s2, begin, end - 1, comparator);
+			}
+
+			// a[begin - 1] <= every element of a[begin..end), if it is equal to
+			// the partition element then no element is smaller, put all the
+			// elements equal to it on the left and only sort the greater ones
+			if (!leftmost && !less(comparator, a[begin - 1], a[begin])) {
+				begin = partitionLeft(a, begin, end, comparator) + 1;
+				continue;
+			}
+
+			int pivot = partitionRight(a, begin, end, comparator);
+			boolean alreadyPartitioned = pivot < 0;
+			if (alreadyPartitioned)
+				pivot = ~pivot;
+
+			int leftSize = pivot - begin;
+			int rightSize = end - (pivot + 1);
+			if (leftSize < size / 8 || rightSize < size / 8) {
+				// too many bad partitions, use heapsort to guarantee O(n log n)
+				if (--badAllowed == 0) {
+					heapSort(a, begin, end, comparator);
+					return;
+				}
+				breakPatterns(a, begin, pivot, end, leftSize, rightSize);
+			} else if (alreadyPartitioned && partialInsertionSort(a, begin, pivot, comparator)
+					&& partialInsertionSort(a, pivot + 1, end, comparator)) {
+				// the subarray was (nearly) sorted
+				return;
+			}
+
+			// recurse into the left part, loop on the right one
+			sort(a, begin, pivot, badAllowed, leftmost, comparator);
+			begin = pivot + 1;
+			leftmost = false;
+		}
+	}
+
+	// partition a[begin..end) around a[begin] so that elements less than it go
+	// to the left and elements greater or equal go to the right, return the
+	// final position of the partition element, or its complement (~position)
+	// if no element had to be exchanged. The scans are unguarded: for a
+	// consistent order an element >= v stops a[++first] before end - 1 and an
+	// element < v stops a[--last] after begin + 1, passing them means the
+	// comparator is inconsistent, which is thrown before leaving the subarray.
+	private static int partitionRight(Object[] a, int begin, int end, Comparator comparator) {
+		Object v = a[begin]; // partition element
+		int first = begin, last = end;
+
+		// there is an element >= v among the medians, the scan stops there
+		while (less(comparator, a[++first], v)) {
+			if (first == end - 1)
+				throw contractViolation();
+		}
+
+		// there is an element < v on the left unless nothing was skipped
+		if (first - 1 == begin) {
+			while (first < last && !less(comparator, a[--last], v))
+				;
+		} else {
+			while (!less(comparator, a[--last], v)) {
+				if (last == begin + 1)
+					throw contractViolation();
+			}
+		}
+
+		boolean alreadyPartitioned = first >= last;
+		while (first < last) {
+			exch(a, first, last);
+			while (less(comparator, a[++first], v)) {
+				if (first == end - 1)
+					throw contractViolation();
+			}
+			while (!less(comparator, a[--last], v)) {
+				if (last == begin + 1)
+					throw contractViolation();
+			}
+		}
+
+		// put partition element v to its final position
+		int pivot = first - 1;
+		a[begin] = a[pivot];
+		a[pivot] = v;
+		return alreadyPartitioned ? ~pivot : pivot;
+	}
+
+	// partition a[begin..end) around a[begin] so that elements equal to it go
+	// to the left and elements greater go to the right, a[begin - 1] == a[begin]
+	// is a lower bound of the subarray so no element is less than it. As in
+	// partitionRight() a scan which passes its stop throws.
+	private static int partitionLeft(Object[] a, int begin, int end, Comparator comparator) {
+		Object v = a[begin]; // partition element
+		int first = begin, last = end;
+
+		while (less(comparator, v, a[--last])) {
+			if (last == begin)
+				throw contractViolation();
+		}
+
+		if (last + 1 == end) {
+			while (first < last && !less(comparator, v, a[++first]))
+				;
+		} else {
+			while (!less(comparator, v, a[++first])) {
+				if (first == end - 1)
+					throw contractViolation();
+			}
+		}
+
+		while (first < last) {
+			exch(a, first, last);
+			while (less(comparator, v, a[--last])) {
+				if (last == begin)
+					throw contractViolation();
+			}
+			while (!less(comparator, v, a[++first])) {
+				if (first == end - 1)
+					throw contractViolation();
+			}
+		}
+
+		int pivot = last;
+		a[begin] = a[pivot];
+		a[pivot] = v;
+		return pivot;
+	}
+
+	// swap some elements of both parts of an unbalanced partition to break
+	// the pattern which caused it
+	private static void breakPatterns(Object[] a, int begin, int pivot, int end, int leftSize, int rightSize) {
+		if (leftSize >= INSERTION_SORT_THRESHOLD) {
+			exch(a, begin, begin + leftSize / 4);
+			exch(a, pivot - 1, pivot - leftSize / 4);
+			if (leftSize > NINTHER_THRESHOLD) {
+				exch(a, begin + 1, begin + (leftSize / 4 + 1));
+				exch(a, begin + 2, begin + (leftSize / 4 + 2));
+				exch(a, pivot - 2, pivot - (leftSize / 4 + 1));
+				exch(a, pivot - 3, pivot - (leftSize / 4 + 2));
+			}
+		}
+		if (rightSize >= INSERTION_SORT_THRESHOLD) {
+			exch(a, pivot + 1, pivot + (1 + rightSize / 4));
+			exch(a, end - 1, end - rightSize / 4);
+			if (rightSize > NINTHER_THRESHOLD) {
+				exch(a, pivot + 2, pivot + (2 + rightSize / 4));
+				exch(a, pivot + 3, pivot + (3 + rightSize / 4));
+				exch(a, end - 2, end - (1 + rightSize / 4));
+				exch(a, end - 3, end - (2 + rightSize / 4));
+			}
+		}
+	}
+
+	// insertion sort a[begin..end) with half exchanges
+	private static void insertionSort(Object[] a, int begin, int end, Comparator comparator) {
+		for (int i = begin + 1; i < end; i++) {
+			Object v = a[i];
+			int j = i;
+			while (j > begin && less(comparator, v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// insertion sort a[begin..end) using a[begin - 1] as sentinel, an element
+	// less than the sentinel means the comparator is inconsistent
+	private static void unguardedInsertionSort(Object[] a, int begin, int end, Comparator comparator) {
+		for (int i = begin + 1; i < end; i++) {
+			Object v = a[i];
+			int j = i;
+			while (less(comparator, v, a[j - 1])) {
+				if (j == begin) {
+					a[j] = v;
+					throw contractViolation();
+				}
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// insertion sort a[begin..end) but give up once more than
+	// PARTIAL_INSERTION_SORT_LIMIT elements were moved, return true if sorted
+	private static boolean partialInsertionSort(Object[] a, int begin, int end, Comparator comparator) {
+		int moves = 0;
+		for (int i = begin + 1; i < end; i++) {
+			if (moves > PARTIAL_INSERTION_SORT_LIMIT)
+				return false;
+			Object v = a[i];
+			int j = i;
+			while (j > begin && less(comparator, v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+			moves += i - j;
+		}
+		return true;
+	}
+
+	// in-place heapsort of a[begin..end), a[begin + k - 1] is the k-th node
+	private static void heapSort(Object[] a, int begin, int end, Comparator comparator) {
+		int n = end - begin;
+		for (int k = n / 2; k >= 1; k--) {
+			sink(a, begin, k, n, comparator);
+		}
+		while (n > 1) {
+			exch(a, begin, begin + n - 1);
+			sink(a, begin, 1, --n, comparator);
+		}
+	}
+
+	private static void sink(Object[] a, int begin, int k, int n, Comparator comparator) {
+		while (2 * k <= n) {
+			int j = 2 * k;
+			if (j < n && less(comparator, a[begin + j - 1], a[begin + j]))
+				j++;
+			if (!less(comparator, a[begin + k - 1], a[begin + j - 1]))
+				break;
+			exch(a, begin + k - 1, begin + j - 1);
+			k = j;
+		}
+	}
+
+	// sort a[i], a[j] and a[k]
+	private static void sort3(Object[] a, int i, int j, int k, Comparator comparator) {
+		if (less(comparator, a[j], a[i]))
+			exch(a, i, j);
+		if (less(comparator, a[k], a[j])) {
+			exch(a, j, k);
+			if (less(comparator, a[j], a[i]))
+				exch(a, i, j);
+		}
+	}
+
+	// floor(log2(n))
+	private static int log2(int n) {
+		return 31 - Integer.numberOfLeadingZeros(n);
+	}
+
+	// the exception of a scan which passed the element that stops it
+	private static IllegalArgumentException contractViolation() {
+		return new IllegalArgumentException("Comparison method violates its general contract");
+	}
+
+	// a < b ?
+	private static boolean less(Comparator comparator, Object a, Object b) {
+		return comparator.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(Object[] a, int i, int j) {
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		PDQSort.sort(a);
+		PDQSort.print(a);
+	}
+
+}
@@ -0,0 +1,51 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * A parallel loop over the indices 0..n-1 in a fork/join pool, shared by the
+ * parallel sorts for their passes over chunks and buckets. The range of
+ * indices is split in halves until every subtask runs a single index, so
+ * idle threads steal the halves that are left.
+ *
+ * @author SylvanasSun
+ *
+ */
+final class ParallelLoop {
+
+	// This class should not be instantiated.
+	private ParallelLoop() {
+	}
+
+	/**
+	 * Runs body(0), ..., body(n - 1) in the pool and waits for all of them.
+	 */
+	static void forEach(ForkJoinPool pool, int n, IntConsumer body) {
+		if (n > 0)
+			pool.invoke(new ForEachTask(body, 0, n));
+	}
+
+	private static class ForEachTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final IntConsumer body;
+		private final int lo, hi;
+
+		ForEachTask(IntConsumer body, int lo, int hi) {
+			this.body = body;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo == 1) {
+				body.accept(lo);
+				return;
+			}
+			int mid = lo + (hi - lo) / 2;
+			invokeAll(new ForEachTask(body, lo, mid), new ForEachTask(body, mid, hi));
+		}
+	}
+
+}
@@ -0,0 +1,255 @@
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel Merge Sort built on {@link MergeX}. The ping-pong recursion between
+ * src[] and dst[] is split into fork/join tasks above a size threshold and the
+ * merge step itself is split by binary search, so the sort is stable and
+ * produces exactly the same output as {@link MergeX}.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class ParallelMergeX {
+	private static final int CUTOFF = 7; // cutoff to insertion sort
+
+	// subarrays smaller than this are sorted sequentially
+	private static final int SORT_THRESHOLD = 1 << 13;
+
+	// merges smaller than this are done sequentially
+	private static final int MERGE_THRESHOLD = 1 << 13;
+
+	// This class should not be instantiated.
+	private ParallelMergeX() {
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(Comparable[] a) {
+		sort(a, NaturalOrder.INSTANCE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the provided order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 */
+	public static void sort(Object[] a, Comparator comparator) {
+		sort(a, comparator, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the provided order and
+	 * running the subtasks in the specified pool.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param comparator
+	 *            the comparator that defines the total order
+	 * @param pool
+	 *            the fork/join pool which executes the subtasks
+	 */
+	public static void sort(Object[] a, Comparator comparator, ForkJoinPool pool) {
+		if (a.length <= SORT_THRESHOLD || pool.getParallelism() <= 1) {
+			MergeX.sort(a, comparator);
+			return;
+		}
+		Object[] aux = a.clone();
+		pool.invoke(new SortTask(aux, a, 0, a.length - 1, comparator));
+	}
+
+	/**
+	 * Sorts src[lo..hi] into dst[lo..hi], the contents of both arrays are equal
+	 * on entry (the same contract as the recursion of {@link MergeX}).
+	 */
+	private static class SortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] src, dst;
+		private final int lo, hi;
+		private final Comparator comparator;
+
+		SortTask(Object[] src, Object[] dst, int lo, int hi, Comparator comparator) {
+			this.src = src;
+			this.dst = dst;
+			this.lo = lo;
+			this.hi = hi;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo < SORT_THRESHOLD) {
+				sort(src, dst, lo, hi, comparator);
+				return;
+			}
+			int mid = lo + (hi - lo) / 2;
+			invokeAll(new SortTask(dst, src, lo, mid, comparator),
+					new SortTask(dst, src, mid + 1, hi, comparator));
+
+			if (!less(comparator, src[mid + 1], src[mid])) {
+				System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+				return;
+			}
+			new MergeTask(src, dst, lo, mid + 1, mid + 1, hi + 1, lo, comparator).compute();
+		}
+	}
+
+	/**
+	 * Stably merges src[lo1..hi1) with src[lo2..hi2) into dst[k..]. The larger
+	 * run is split at its median and the split point of the other run is found
+	 * by binary search, elements equal to the median keep their relative order
+	 * because those from the left run always go first.
+	 */
+	private static class MergeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] src, dst;
+		private final int lo1, hi1, lo2, hi2, k;
+		private final Comparator comparator;
+
+		MergeTask(Object[] src, Object[] dst, int lo1, int hi1, int lo2, int hi2, int k, Comparator comparator) {
+			this.src = src;
+			this.dst = dst;
+			this.lo1 = lo1;
+			this.hi1 = hi1;
+			this.lo2 = lo2;
+			this.hi2 = hi2;
+			this.k = k;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			int n1 = hi1 - lo1, n2 = hi2 - lo2;
+			if (n1 + n2 < MERGE_THRESHOLD || n1 == 0 || n2 == 0) {
+				merge(src, dst, comparator, lo1, hi1, lo2, hi2, k);
+				return;
+			}
+			int m1, m2;
+			if (n1 >= n2) {
+				// left elements go before the right elements equal to them
+				m1 = lo1 + n1 / 2;
+				m2 = lowerBound(src, lo2, hi2, src[m1], comparator);
+			} else {
+				// right elements go after the left elements equal to them
+				m2 = lo2 + n2 / 2;
+				m1 = upperBound(src, lo1, hi1, src[m2], comparator);
+			}
+			int km = k + (m1 - lo1) + (m2 - lo2);
+			invokeAll(new MergeTask(src, dst, lo1, m1, lo2, m2, k, comparator),
+					new MergeTask(src, dst, m1, hi1, m2, hi2, km, comparator));
+		}
+	}
+
+	// first index in a[lo..hi) such that a[index] >= key
+	private static int lowerBound(Object[] a, int lo, int hi, Object key, Comparator comparator) {
+		while (lo < hi) {
+			int mid = lo + (hi - lo) / 2;
+			if (less(comparator, a[mid], key)) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	// first index in a[lo..hi) such that a[index] > key
+	private static int upperBound(Object[] a, int lo, int hi, Object key, Comparator comparator) {
+		while (lo < hi) {
+			int mid = lo + (hi - lo) / 2;
+			if (less(comparator, key, a[mid])) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+		}
+		return lo;
+	}
+
+	// stably merge src[lo1..hi1) with src[lo2..hi2) into dst[k..]
+	private static void merge(Object[] src, Object[] dst, Comparator comparator, int lo1, int hi1, int lo2, int hi2,
+			int k) {
+		int i = lo1, j = lo2;
+		while (i < hi1 && j < hi2) {
+			if (less(comparator, src[j], src[i])) {
+				dst[k++] = src[j++];
+			} else {
+				dst[k++] = src[i++];
+			}
+		}
+		if (i < hi1) {
+			System.arraycopy(src, i, dst, k, hi1 - i);
+		} else if (j < hi2) {
+			System.arraycopy(src, j, dst, k, hi2 - j);
+		}
+	}
+
+	// sequential MergeX recursion for the leaves of the task tree
+	private static void sort(Object[] src, Object[] dst, int lo, int hi, Comparator comparator) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(dst, lo, hi, comparator);
+			return;
+		}
+		int mid = lo + (hi - lo) / 2;
+		sort(dst, src, lo, mid, comparator);
+		sort(dst, src, mid + 1, hi, comparator);
+
+		if (!less(comparator, src[mid + 1], src[mid])) {
+			System.arraycopy(src, lo, dst, lo, hi - lo + 1);
+			return;
+		}
+
+		merge(src, dst, comparator, lo, mid + 1, mid + 1, hi + 1, lo);
+	}
+
+	private static void insertionSort(Object[] a, int lo, int hi, Comparator comparator) {
+		for (int i = lo; i <= hi; i++) {
+			for (int j = i; j > lo && less(comparator, a[j], a[j - 1]); j--) {
+				exch(a, j, j - 1);
+			}
+		}
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// a < b ?
+	private static boolean less(Comparator comparator, Object a, Object b) {
+		return comparator.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(Object[] a, int i, int j) {
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		ParallelMergeX.sort(a);
+		ParallelMergeX.print(a);
+	}
+
+}
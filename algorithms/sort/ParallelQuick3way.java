@@ -0,0 +1,232 @@
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parallel Quick Sort using three-way split. Each partition is split as in
+ * {@link Quick3way} and the a[lo..lt-1] and a[gt+1..hi] parts are handed off
+ * as fork/join subtasks, the keys equal to the partition element are never
+ * touched again, so inputs with many duplicate keys finish after a few levels.
+ * As in Quick3way the array is shuffled first, here by the pool too: every
+ * element is sent to one of k random buckets, then every bucket is shuffled.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class ParallelQuick3way {
+	private static final int CUTOFF = 16; // cutoff to insertion sort
+
+	// subarrays smaller than this are sorted sequentially
+	private static final int THRESHOLD = 1 << 13;
+
+	// most buckets of the parallel shuffle, so that a bucket fits in a byte
+	private static final int MAX_BUCKETS = 256;
+
+	// This class should not be instantiated.
+	private ParallelQuick3way() {
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order.
+	 *
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparable[] a) {
+		sort(NaturalOrder.INSTANCE, a);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a) {
+		sort(comparator, a, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and running
+	 * the subtasks in the specified pool.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 * @param pool
+	 *            the fork/join pool which executes the subtasks
+	 */
+	public static void sort(Comparator comparator, Object[] a, ForkJoinPool pool) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		if (a.length <= THRESHOLD || pool.getParallelism() <= 1) {
+			shuffle(a, 0, a.length);
+			sort(a, 0, a.length - 1, comparator);
+			return;
+		}
+		shuffle(a, pool);
+		pool.invoke(new SortTask(a, 0, a.length - 1, comparator));
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	private static class SortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] a;
+		private final int lo, hi;
+		private final Comparator comparator;
+
+		SortTask(Object[] a, int lo, int hi, Comparator comparator) {
+			this.a = a;
+			this.lo = lo;
+			this.hi = hi;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo < THRESHOLD) {
+				sort(a, lo, hi, comparator);
+				return;
+			}
+			long range = partition(a, lo, hi, comparator);
+			int lt = (int) (range >>> 32), gt = (int) range;
+			invokeAll(new SortTask(a, lo, lt - 1, comparator), new SortTask(a, gt + 1, hi, comparator));
+		}
+	}
+
+	// quicksort the subarray a[lo .. hi] using 3-way partitioning
+	private static void sort(Object[] a, int lo, int hi, Comparator comparator) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(a, lo, hi, comparator);
+			return;
+		}
+		long range = partition(a, lo, hi, comparator);
+		sort(a, lo, (int) (range >>> 32) - 1, comparator);
+		sort(a, (int) range + 1, hi, comparator);
+	}
+
+	// partition a[lo..hi] so that a[lo..lt-1] < a[lt..gt] < a[gt+1..hi]
+	// and return lt and gt packed into the high and low halves of a long
+	private static long partition(Object[] a, int lo, int hi, Comparator comparator) {
+		int lt = lo, i = lo + 1, gt = hi;
+		Object v = a[lo]; // partition element
+
+		while (i <= gt) {
+			int cmp = comparator.compare(a[i], v);
+			if (cmp < 0) {
+				exch(a, i++, lt++);
+			} else if (cmp > 0) {
+				exch(a, i, gt--);
+			} else {
+				i++;
+			}
+		}
+		return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+	}
+
+	// shuffle a[] in parallel: k tasks scan k chunks, send every element to a
+	// random one of k buckets and count the elements of every chunk in every
+	// bucket, which tells every task where to write in aux[]. Then k tasks
+	// shuffle the k buckets by Fisher-Yates. Random buckets followed by a random
+	// order inside every bucket give a uniformly random permutation.
+	private static void shuffle(Object[] a, ForkJoinPool pool) {
+		int n = a.length;
+		int k = Math.min(MAX_BUCKETS, 4 * pool.getParallelism());
+		byte[] bucket = new byte[n];
+		int[][] count = new int[k][k];
+		ParallelLoop.forEach(pool, k, c -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = chunk(n, k, c); i < chunk(n, k, c + 1); i++) {
+				int b = random.nextInt(k);
+				bucket[i] = (byte) b;
+				count[c][b]++;
+			}
+		});
+
+		// turn the counts into the start of every chunk in every bucket
+		int[] start = new int[k + 1];
+		for (int b = 0, next = 0; b < k; b++) {
+			start[b] = next;
+			for (int c = 0; c < k; c++) {
+				int m = count[c][b];
+				count[c][b] = next;
+				next += m;
+			}
+		}
+		start[k] = n;
+
+		Object[] aux = new Object[n];
+		ParallelLoop.forEach(pool, k, c -> {
+			for (int i = chunk(n, k, c); i < chunk(n, k, c + 1); i++) {
+				aux[count[c][bucket[i] & 0xFF]++] = a[i];
+			}
+		});
+		ParallelLoop.forEach(pool, k, b -> {
+			shuffle(aux, start[b], start[b + 1]);
+			System.arraycopy(aux, start[b], a, start[b], start[b + 1] - start[b]);
+		});
+	}
+
+	// Fisher-Yates shuffle of a[lo..hi)
+	private static void shuffle(Object[] a, int lo, int hi) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = lo; i < hi - 1; i++) {
+			exch(a, i, i + random.nextInt(hi - i));
+		}
+	}
+
+	// the first index of chunk c out of k chunks of n elements
+	private static int chunk(int n, int k, int c) {
+		return (int) ((long) n * c / k);
+	}
+
+	// insertion sort a[lo..hi] with half exchanges, bounded by lo so that an
+	// inconsistent comparator cannot move it into a range of another task
+	private static void insertionSort(Object[] a, int lo, int hi, Comparator comparator) {
+		for (int i = lo + 1; i <= hi; i++) {
+			Object v = a[i];
+			int j = i;
+			while (j > lo && less(comparator, v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// a < b ?
+	private static boolean less(Comparator comparator, Object a, Object b) {
+		return comparator.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(Object[] a, int i, int j) {
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		ParallelQuick3way.sort(a);
+		ParallelQuick3way.print(a);
+	}
+
+}
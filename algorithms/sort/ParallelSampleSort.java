@@ -0,0 +1,211 @@
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parallel Sample Sort. A random sample of the array is sorted and k - 1
+ * evenly spaced elements of it are picked as splitters, which divide the keys
+ * into k buckets of about n / k elements. Then, in parallel over chunks of the
+ * array, every element is classified by a binary search over the splitters and
+ * scattered to the region of its bucket, and finally the buckets are sorted in
+ * parallel by {@link MergeX}. Every element moves a constant number of times
+ * (to the buckets and back), instead of once per level as in a recursive
+ * parallel quicksort, and the buckets are independent so no merge is needed.
+ * <p>
+ * The splitters are stored as an implicit binary search tree (the children of
+ * node j are 2j and 2j + 1), so the search is log2(k) steps of
+ * {@code j = 2 * j + (less ? 1 : 0)} without a data-dependent branch. The
+ * scatter keeps the order of the elements of a bucket and MergeX is stable, so
+ * the sort is stable.
+ * <p>
+ * A key that is sampled often enough to be picked as two adjacent splitters
+ * gets a bucket of its own, which is already sorted, so that many duplicate
+ * keys do not pile up in one bucket sorted by a single thread.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class ParallelSampleSort {
+	private static final int MAX_BUCKETS = 256; // bucket index fits a byte
+	private static final int BUCKETS_PER_THREAD = 8; // balances uneven buckets
+	private static final int OVERSAMPLING = 16; // sample elements per bucket
+
+	// arrays smaller than this are sorted sequentially, and no chunk or bucket
+	// is expected to be smaller
+	private static final int THRESHOLD = 1 << 13;
+
+	// This class should not be instantiated.
+	private ParallelSampleSort() {
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order.
+	 *
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparable[] a) {
+		sort(NaturalOrder.INSTANCE, a);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a) {
+		sort(comparator, a, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and running
+	 * the subtasks in the specified pool.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 * @param pool
+	 *            the fork/join pool which executes the subtasks
+	 */
+	public static void sort(Comparator comparator, Object[] a, ForkJoinPool pool) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		int n = a.length;
+		int parallelism = pool.getParallelism();
+		if (n <= THRESHOLD || parallelism <= 1) {
+			MergeX.sort(a, comparator);
+			return;
+		}
+
+		// splitters
+		int k = buckets(n, parallelism);
+		int levels = Integer.numberOfTrailingZeros(k);
+		Object[] splitters = splitters(a, k, comparator);
+		Object[] tree = new Object[k];
+		buildTree(splitters, 0, k - 1, tree, 1);
+
+		// bucket b + 1 holds the keys in (splitters[b], splitters[b+1]], which
+		// is empty if the two are equal, so it becomes the bucket of the keys
+		// equal to splitters[b] and needs no sort
+		boolean[] equal = new boolean[k];
+		for (int b = 0; b < k - 2; b++) {
+			equal[b] = !less(comparator, splitters[b], splitters[b + 1]);
+		}
+
+		// classify every chunk and count the size of its part of every bucket
+		int chunks = Math.max(1, Math.min(parallelism * BUCKETS_PER_THREAD, n / THRESHOLD));
+		int chunkSize = (n + chunks - 1) / chunks;
+		byte[] bucketOf = new byte[n];
+		int[][] counts = new int[chunks][k];
+		ParallelLoop.forEach(pool, chunks, c -> {
+			int[] count = counts[c];
+			for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+				int j = 1;
+				for (int l = 0; l < levels; l++) {
+					j = 2 * j + (less(comparator, tree[j], a[i]) ? 1 : 0);
+				}
+				int b = j - k;
+				if (equal[b] && !less(comparator, a[i], splitters[b]))
+					b++;
+				bucketOf[i] = (byte) b;
+				count[b]++;
+			}
+		});
+
+		// counts[c][b] becomes the index of the first element of chunk c in
+		// bucket b, bucket b is aux[start[b]..start[b+1])
+		int[] start = new int[k + 1];
+		int sum = 0;
+		for (int b = 0; b < k; b++) {
+			start[b] = sum;
+			for (int c = 0; c < chunks; c++) {
+				int count = counts[c][b];
+				counts[c][b] = sum;
+				sum += count;
+			}
+		}
+		start[k] = n;
+
+		// scatter the elements to their buckets, in order
+		Object[] aux = new Object[n];
+		ParallelLoop.forEach(pool, chunks, c -> {
+			int[] next = counts[c];
+			for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+				aux[next[bucketOf[i] & 0xFF]++] = a[i];
+			}
+		});
+
+		// move the buckets back and sort them, except the buckets of equal keys
+		ParallelLoop.forEach(pool, k, b -> {
+			int lo = start[b], hi = start[b + 1];
+			System.arraycopy(aux, lo, a, lo, hi - lo);
+			if (b == 0 || !equal[b - 1])
+				MergeX.sort(a, lo, hi, comparator);
+		});
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// the number of buckets, a power of two, enough for every thread to get a
+	// few buckets but no bucket expected to be smaller than THRESHOLD
+	private static int buckets(int n, int parallelism) {
+		int k = Integer.highestOneBit(Math.min(MAX_BUCKETS, parallelism * BUCKETS_PER_THREAD));
+		while (k > 2 && n / k < THRESHOLD) {
+			k /= 2;
+		}
+		return Math.max(k, 2);
+	}
+
+	// pick k - 1 splitters, in order, from a sorted random sample of a[]
+	private static Object[] splitters(Object[] a, int k, Comparator comparator) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Object[] sample = new Object[k * OVERSAMPLING];
+		for (int i = 0; i < sample.length; i++) {
+			sample[i] = a[random.nextInt(a.length)];
+		}
+		Quick3way.sort(comparator, sample);
+
+		Object[] splitters = new Object[k - 1];
+		for (int i = 0; i < k - 1; i++) {
+			splitters[i] = sample[(i + 1) * OVERSAMPLING - 1];
+		}
+		return splitters;
+	}
+
+	// store the sorted splitters[lo..hi) as the subtree rooted at tree[node]
+	private static void buildTree(Object[] splitters, int lo, int hi, Object[] tree, int node) {
+		if (lo >= hi)
+			return;
+		int mid = lo + (hi - lo) / 2;
+		tree[node] = splitters[mid];
+		buildTree(splitters, lo, mid, tree, 2 * node);
+		buildTree(splitters, mid + 1, hi, tree, 2 * node + 1);
+	}
+
+	// a < b ?
+	private static boolean less(Comparator comparator, Object a, Object b) {
+		return comparator.compare(a, b) < 0;
+	}
+
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		ParallelSampleSort.sort(a);
+		ParallelSampleSort.print(a);
+	}
+
+}
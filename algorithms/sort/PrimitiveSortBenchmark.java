@@ -0,0 +1,86 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares the boxed {@code Long[]} path of the sort classes with their
+ * primitive {@code long[]} overloads. Every algorithm sorts the same random
+ * input a few times to warm up and then the best of the measured rounds is
+ * reported, so the numbers are rough but stable enough to show the cost of
+ * boxing (an allocation per element and a pointer chase per comparison).
+ *
+ * Usage: java PrimitiveSortBenchmark [n]
+ *
+ * @author SylvanasSun
+ *
+ */
+public class PrimitiveSortBenchmark {
+	private static final int WARMUP = 3;
+	private static final int ROUNDS = 5;
+
+	// quadratic sorts only run on inputs of this size at most
+	private static final int SMALL = 20000;
+
+	// This class should not be instantiated.
+	private PrimitiveSortBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		long[] input = new long[n];
+		Random random = new Random(42);
+		for (int i = 0; i < n; i++) {
+			input[i] = random.nextLong();
+		}
+
+		System.out.printf("%-12s %10s %14s %14s %8s%n", "algorithm", "n", "boxed (ms)", "primitive (ms)",
+				"speedup");
+		run("Quick", input, Quick::sort, Quick::sort);
+		run("Quick3way", input, Quick3way::sort, Quick3way::sort);
+		run("Merge", input, Merge::sort, Merge::sort);
+		run("MergeBU", input, MergeBU::sort, MergeBU::sort);
+		run("MergeX", input, MergeX::sort, MergeX::sort);
+		run("Shell", input, Shell::sort, Shell::sort);
+		run("InsertionX", Arrays.copyOf(input, Math.min(n, SMALL)), InsertionX::sort, InsertionX::sort);
+	}
+
+	private static void run(String name, long[] input, Consumer<Comparable[]> boxed, Consumer<long[]> primitive) {
+		double boxedTime = bestBoxed(input, boxed);
+		double primitiveTime = bestPrimitive(input, primitive);
+		System.out.printf("%-12s %10d %14.2f %14.2f %7.2fx%n", name, input.length, boxedTime, primitiveTime,
+				boxedTime / primitiveTime);
+	}
+
+	// best time in milliseconds of sorting a boxed copy of input
+	private static double bestBoxed(long[] input, Consumer<Comparable[]> sort) {
+		double best = Double.MAX_VALUE;
+		for (int round = 0; round < WARMUP + ROUNDS; round++) {
+			// boxing is part of what the caller pays, so it is measured too
+			long start = System.nanoTime();
+			Long[] a = new Long[input.length];
+			for (int i = 0; i < input.length; i++) {
+				a[i] = input[i];
+			}
+			sort.accept(a);
+			double elapsed = (System.nanoTime() - start) / 1e6;
+			if (round >= WARMUP)
+				best = Math.min(best, elapsed);
+		}
+		return best;
+	}
+
+	// best time in milliseconds of sorting a primitive copy of input
+	private static double bestPrimitive(long[] input, Consumer<long[]> sort) {
+		double best = Double.MAX_VALUE;
+		for (int round = 0; round < WARMUP + ROUNDS; round++) {
+			long start = System.nanoTime();
+			long[] a = input.clone();
+			sort.accept(a);
+			double elapsed = (System.nanoTime() - start) / 1e6;
+			if (round >= WARMUP)
+				best = Math.min(best, elapsed);
+		}
+		return best;
+	}
+
+}
@@ -5,6 +5,27 @@
  *
  */
 public class Quick {
+	private static final int BLOCK = 128; // size of a block of block partitioning
+
+	/**
+	 * The partition scheme of the quicksort.
+	 */
+	public enum Partition {
+		/**
+		 * Hoare partitioning: scan from both ends and exchange the elements in
+		 * the wrong half as they are found. Every comparison is a branch that is
+		 * mispredicted about half the time on random input.
+		 */
+		HOARE,
+		/**
+		 * BlockQuicksort partitioning (Edelkamp and Weiss): the comparisons of a
+		 * block of elements from each end only record the offsets of the elements
+		 * in the wrong half in a buffer, without a branch, then the recorded
+		 * elements are exchanged in a batch. Faster when comparisons are cheap,
+		 * as for primitive values.
+		 */
+		BLOCK
+	}
 
 	// This class should not be instantiated.
 	private Quick() {
@@ -17,8 +38,54 @@ public class Quick {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		shuffle(a);
-		sort(a, 0, a.length - 1);
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1, metrics);
 	}
 
 	/**
@@ -30,8 +97,325 @@ public class Quick {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
-		shuffle(a);
-		sort(a, 0, a.length - 1, comparator);
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1, comparator, metrics);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and an
+	 * introspective quicksort: the partition element is the median of three
+	 * instead of shuffling the array first, and a subarray whose recursion depth
+	 * passes 2 * log2(n) is sorted by heapsort, so the worst case is O(n log n)
+	 * even for adversarial input.
+	 *
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void introSort(Comparable[] a) {
+		introSort(a, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and an
+	 * introspective quicksort (see {@link #introSort(Comparable[])}), reporting
+	 * the operations of the sort to the metrics. Every subarray handed to
+	 * heapsort is reported by {@link SortMetrics#fallback()}.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void introSort(Comparable[] a, SortMetrics metrics) {
+		introSort(a, 0, a.length - 1, depthLimit(a.length), metrics);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and an
+	 * introspective quicksort (see {@link #introSort(Comparable[])}). The worst
+	 * case stays O(n log n) even if the comparator is adversarial.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void introSort(Comparator comparator, Object[] a) {
+		introSort(comparator, a, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and an
+	 * introspective quicksort (see {@link #introSort(Comparable[])}), reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void introSort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		introSort(a, 0, a.length - 1, depthLimit(a.length), comparator, metrics);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code int} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(int[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code long} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(long[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code double} values in
+	 * ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(double[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and the
+	 * given partition scheme.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param partition
+	 *            the partition scheme, see {@link Partition}
+	 */
+	public static void sort(Comparable[] a, Partition partition) {
+		sort(a, partition, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and the
+	 * given partition scheme, reporting the operations of the sort to the
+	 * metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param partition
+	 *            the partition scheme, see {@link Partition}
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, Partition partition, SortMetrics metrics) {
+		shuffle(a, 0, a.length);
+		if (partition == Partition.BLOCK)
+			blockQuicksort(a, 0, a.length - 1, new int[BLOCK], new int[BLOCK], metrics);
+		else
+			quicksort(a, 0, a.length - 1, metrics);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and the given
+	 * partition scheme.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param partition
+	 *            the partition scheme, see {@link Partition}
+	 */
+	public static void sort(Comparator comparator, Object[] a, Partition partition) {
+		sort(comparator, a, partition, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and the given
+	 * partition scheme, reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param partition
+	 *            the partition scheme, see {@link Partition}
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, Partition partition, SortMetrics metrics) {
+		shuffle(a, 0, a.length);
+		if (partition == Partition.BLOCK)
+			blockQuicksort(a, 0, a.length - 1, new int[BLOCK], new int[BLOCK], comparator, metrics);
+		else
+			quicksort(a, 0, a.length - 1, comparator, metrics);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order,
+	 * using the given partition scheme.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param partition
+	 *            the partition scheme, see {@link Partition}
+	 */
+	public static void sort(int[] a, Partition partition) {
+		shuffle(a, 0, a.length);
+		if (partition == Partition.BLOCK)
+			blockQuicksort(a, 0, a.length - 1, new int[BLOCK], new int[BLOCK]);
+		else
+			quicksort(a, 0, a.length - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order,
+	 * using the given partition scheme.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param partition
+	 *            the partition scheme, see {@link Partition}
+	 */
+	public static void sort(long[] a, Partition partition) {
+		shuffle(a, 0, a.length);
+		if (partition == Partition.BLOCK)
+			blockQuicksort(a, 0, a.length - 1, new int[BLOCK], new int[BLOCK]);
+		else
+			quicksort(a, 0, a.length - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order,
+	 * using the given partition scheme.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param partition
+	 *            the partition scheme, see {@link Partition}
+	 */
+	public static void sort(double[] a, Partition partition) {
+		shuffle(a, 0, a.length);
+		if (partition == Partition.BLOCK)
+			blockQuicksort(a, 0, a.length - 1, new int[BLOCK], new int[BLOCK]);
+		else
+			quicksort(a, 0, a.length - 1);
 	}
 
 	/**
@@ -48,20 +432,20 @@ public class Quick {
 
 	// partition the subarray a[lo..hi] so that a[lo..j-1] <= a[j] <= a[j+1..hi]
 	// and return the index j.
-	private static int partition(Comparable[] a, int lo, int hi) {
+	private static int partition(Comparable[] a, int lo, int hi, SortMetrics metrics) {
 		int i = lo; // left point
 		int j = hi + 1; // right point
 		Comparable v = a[lo]; // partition element
 
 		while (true) {
 			// scan left point
-			while (less(a[++i], v)) {
+			while (less(metrics, a[++i], v)) {
 				if (i == hi)
 					break;
 			}
 
 			// scan right point
-			while (less(v, a[--j])) {
+			while (less(metrics, v, a[--j])) {
 				if (j == lo)
 					break;
 			}
@@ -70,34 +454,357 @@ public class Quick {
 			if (i >= j)
 				break;
 
-			exch(a, i, j);
+			exch(metrics, a, i, j);
 		}
 
 		// put partition element v to a[j]
-		exch(a, lo, j);
+		exch(metrics, a, lo, j);
 		// now a[lo..j-1] <= a[j] <= a[j+1..hi]
 		return j;
 	}
 
-	private static int partition(Object[] a, int lo, int hi, Comparator comparator) {
+	private static int partition(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
 		int i = lo; // left point
 		int j = hi + 1; // right point
 		Object v = a[lo]; // partition element
 
 		while (true) {
 			// scan left point
-			while (less(comparator, a[++i], v)) {
+			while (less(metrics, comparator, a[++i], v)) {
 				if (i == hi)
 					break;
 			}
 
 			// scan right point
-			while (less(comparator, v, a[--j])) {
+			while (less(metrics, comparator, v, a[--j])) {
 				if (j == lo)
 					break;
 			}
 
 			// check if point cross
+			if (i >= j)
+				break;
+
+			exch(metrics, a, i, j);
+		}
+
+		exch(metrics, a, lo, j);
+		return j;
+	}
+
+	private static void quicksort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		if (hi <= lo)
+			return;
+
+		metrics.enter();
+		int j = partition(a, lo, hi, metrics);
+		quicksort(a, lo, j - 1, metrics);
+		quicksort(a, j + 1, hi, metrics);
+		metrics.exit();
+	}
+
+	private static void quicksort(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
+		if (hi <= lo)
+			return;
+
+		metrics.enter();
+		int j = partition(a, lo, hi, comparator, metrics);
+		quicksort(a, lo, j - 1, comparator, metrics);
+		quicksort(a, j + 1, hi, comparator, metrics);
+		metrics.exit();
+	}
+
+	// partition the subarray a[lo..hi] around a[lo] as partition() does, but
+	// classify blocks of elements into offset buffers before exchanging them:
+	// offsetsL[] gets the offsets of a[l..] that are >= v and offsetsR[] the
+	// offsets of a[..r] that are <= v. The buffers of BLOCK elements are
+	// allocated once per sort and shared by all the partitions.
+	private static int blockPartition(Comparable[] a, int lo, int hi, int[] offsetsL, int[] offsetsR,
+			SortMetrics metrics) {
+		if (hi - lo <= 2 * BLOCK)
+			return partition(a, lo, hi, metrics);
+
+		Comparable v = a[lo]; // partition element
+		int startL = 0, numL = 0;
+		int startR = 0, numR = 0;
+		int l = lo + 1, r = hi;
+
+		// a[lo+1..l-1] <= v <= a[r+1..hi], the blocks a[l..l+BLOCK-1] and
+		// a[r-BLOCK+1..r] do not overlap
+		while (r - l + 1 > 2 * BLOCK) {
+			if (numL == 0) {
+				startL = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsL[numL] = i;
+					numL += less(metrics, a[l + i], v) ? 0 : 1;
+				}
+			}
+			if (numR == 0) {
+				startR = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsR[numR] = i;
+					numR += less(metrics, v, a[r - i]) ? 0 : 1;
+				}
+			}
+
+			// exchange the misplaced elements pairwise
+			int num = Math.min(numL, numR);
+			for (int k = 0; k < num; k++) {
+				exch(metrics, a, l + offsetsL[startL + k], r - offsetsR[startR + k]);
+			}
+			numL -= num;
+			numR -= num;
+			startL += num;
+			startR += num;
+			if (numL == 0)
+				l += BLOCK;
+			if (numR == 0)
+				r -= BLOCK;
+		}
+
+		// finish a[l..r] (at most 2 * BLOCK elements) with the scans of partition()
+		int i = l - 1;
+		int j = r + 1;
+		while (true) {
+			while (less(metrics, a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+			while (less(metrics, v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+			if (i >= j)
+				break;
+			exch(metrics, a, i, j);
+		}
+
+		exch(metrics, a, lo, j);
+		return j;
+	}
+
+	private static void blockQuicksort(Comparable[] a, int lo, int hi, int[] offsetsL, int[] offsetsR,
+			SortMetrics metrics) {
+		if (hi <= lo)
+			return;
+
+		metrics.enter();
+		int j = blockPartition(a, lo, hi, offsetsL, offsetsR, metrics);
+		blockQuicksort(a, lo, j - 1, offsetsL, offsetsR, metrics);
+		blockQuicksort(a, j + 1, hi, offsetsL, offsetsR, metrics);
+		metrics.exit();
+	}
+
+	private static int blockPartition(Object[] a, int lo, int hi, int[] offsetsL, int[] offsetsR,
+			Comparator comparator, SortMetrics metrics) {
+		if (hi - lo <= 2 * BLOCK)
+			return partition(a, lo, hi, comparator, metrics);
+
+		Object v = a[lo];
+		int startL = 0, numL = 0;
+		int startR = 0, numR = 0;
+		int l = lo + 1, r = hi;
+
+		while (r - l + 1 > 2 * BLOCK) {
+			if (numL == 0) {
+				startL = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsL[numL] = i;
+					numL += less(metrics, comparator, a[l + i], v) ? 0 : 1;
+				}
+			}
+			if (numR == 0) {
+				startR = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsR[numR] = i;
+					numR += less(metrics, comparator, v, a[r - i]) ? 0 : 1;
+				}
+			}
+
+			// exchange the misplaced elements pairwise
+			int num = Math.min(numL, numR);
+			for (int k = 0; k < num; k++) {
+				exch(metrics, a, l + offsetsL[startL + k], r - offsetsR[startR + k]);
+			}
+			numL -= num;
+			numR -= num;
+			startL += num;
+			startR += num;
+			if (numL == 0)
+				l += BLOCK;
+			if (numR == 0)
+				r -= BLOCK;
+		}
+
+		int i = l - 1;
+		int j = r + 1;
+		while (true) {
+			while (less(metrics, comparator, a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+			while (less(metrics, comparator, v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+			if (i >= j)
+				break;
+			exch(metrics, a, i, j);
+		}
+
+		exch(metrics, a, lo, j);
+		return j;
+	}
+
+	private static void blockQuicksort(Object[] a, int lo, int hi, int[] offsetsL, int[] offsetsR,
+			Comparator comparator, SortMetrics metrics) {
+		if (hi <= lo)
+			return;
+
+		metrics.enter();
+		int j = blockPartition(a, lo, hi, offsetsL, offsetsR, comparator, metrics);
+		blockQuicksort(a, lo, j - 1, offsetsL, offsetsR, comparator, metrics);
+		blockQuicksort(a, j + 1, hi, offsetsL, offsetsR, comparator, metrics);
+		metrics.exit();
+	}
+
+	// 2 * floor(log2(n)), the recursion depth at which introsort gives up
+	private static int depthLimit(int n) {
+		return n <= 1 ? 0 : 2 * (31 - Integer.numberOfLeadingZeros(n));
+	}
+
+	private static void introSort(Comparable[] a, int lo, int hi, int depth, SortMetrics metrics) {
+		metrics.enter();
+		while (hi > lo) {
+			if (depth-- == 0) {
+				metrics.fallback();
+				heapSort(a, lo, hi, metrics);
+				break;
+			}
+			medianOfThree(a, lo, hi, metrics);
+			int j = partition(a, lo, hi, metrics);
+			// recurse into the smaller part, loop on the larger one
+			if (j - lo < hi - j) {
+				introSort(a, lo, j - 1, depth, metrics);
+				lo = j + 1;
+			} else {
+				introSort(a, j + 1, hi, depth, metrics);
+				hi = j - 1;
+			}
+		}
+		metrics.exit();
+	}
+
+	private static void introSort(Object[] a, int lo, int hi, int depth, Comparator comparator,
+			SortMetrics metrics) {
+		metrics.enter();
+		while (hi > lo) {
+			if (depth-- == 0) {
+				metrics.fallback();
+				heapSort(a, lo, hi, comparator, metrics);
+				break;
+			}
+			medianOfThree(a, lo, hi, comparator, metrics);
+			int j = partition(a, lo, hi, comparator, metrics);
+			if (j - lo < hi - j) {
+				introSort(a, lo, j - 1, depth, comparator, metrics);
+				lo = j + 1;
+			} else {
+				introSort(a, j + 1, hi, depth, comparator, metrics);
+				hi = j - 1;
+			}
+		}
+		metrics.exit();
+	}
+
+	// move the median of a[lo], a[mid] and a[hi] to a[lo] as partition element
+	private static void medianOfThree(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		int mid = lo + (hi - lo) / 2;
+		if (less(metrics, a[mid], a[lo]))
+			exch(metrics, a, mid, lo);
+		if (less(metrics, a[hi], a[mid])) {
+			exch(metrics, a, hi, mid);
+			if (less(metrics, a[mid], a[lo]))
+				exch(metrics, a, mid, lo);
+		}
+		exch(metrics, a, lo, mid);
+	}
+
+	private static void medianOfThree(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
+		int mid = lo + (hi - lo) / 2;
+		if (less(metrics, comparator, a[mid], a[lo]))
+			exch(metrics, a, mid, lo);
+		if (less(metrics, comparator, a[hi], a[mid])) {
+			exch(metrics, a, hi, mid);
+			if (less(metrics, comparator, a[mid], a[lo]))
+				exch(metrics, a, mid, lo);
+		}
+		exch(metrics, a, lo, mid);
+	}
+
+	// in-place heapsort of a[lo..hi], a[lo + k - 1] is the k-th node of the heap
+	private static void heapSort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		int n = hi - lo + 1;
+		for (int k = n / 2; k >= 1; k--) {
+			sink(a, lo, k, n, metrics);
+		}
+		while (n > 1) {
+			exch(metrics, a, lo, lo + n - 1);
+			sink(a, lo, 1, --n, metrics);
+		}
+	}
+
+	private static void heapSort(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
+		int n = hi - lo + 1;
+		for (int k = n / 2; k >= 1; k--) {
+			sink(a, lo, k, n, comparator, metrics);
+		}
+		while (n > 1) {
+			exch(metrics, a, lo, lo + n - 1);
+			sink(a, lo, 1, --n, comparator, metrics);
+		}
+	}
+
+	private static void sink(Comparable[] a, int lo, int k, int n, SortMetrics metrics) {
+		while (2 * k <= n) {
+			int j = 2 * k;
+			if (j < n && less(metrics, a[lo + j - 1], a[lo + j]))
+				j++;
+			if (!less(metrics, a[lo + k - 1], a[lo + j - 1]))
+				break;
+			exch(metrics, a, lo + k - 1, lo + j - 1);
+			k = j;
+		}
+	}
+
+	private static void sink(Object[] a, int lo, int k, int n, Comparator comparator, SortMetrics metrics) {
+		while (2 * k <= n) {
+			int j = 2 * k;
+			if (j < n && less(metrics, comparator, a[lo + j - 1], a[lo + j]))
+				j++;
+			if (!less(metrics, comparator, a[lo + k - 1], a[lo + j - 1]))
+				break;
+			exch(metrics, a, lo + k - 1, lo + j - 1);
+			k = j;
+		}
+	}
+
+	private static int partition(int[] a, int lo, int hi) {
+		int i = lo; // left point
+		int j = hi + 1; // right point
+		int v = a[lo]; // partition element
+
+		while (true) {
+			while (less(a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+
+			while (less(v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+
 			if (i >= j)
 				break;
 
@@ -108,22 +815,290 @@ public class Quick {
 		return j;
 	}
 
-	private static void sort(Comparable[] a, int lo, int hi) {
+	private static void quicksort(int[] a, int lo, int hi) {
 		if (hi <= lo)
 			return;
 
 		int j = partition(a, lo, hi);
-		sort(a, lo, j - 1);
-		sort(a, j + 1, hi);
+		quicksort(a, lo, j - 1);
+		quicksort(a, j + 1, hi);
+	}
+
+	private static int blockPartition(int[] a, int lo, int hi, int[] offsetsL, int[] offsetsR) {
+		if (hi - lo <= 2 * BLOCK)
+			return partition(a, lo, hi);
+
+		int v = a[lo];
+		int startL = 0, numL = 0;
+		int startR = 0, numR = 0;
+		int l = lo + 1, r = hi;
+
+		while (r - l + 1 > 2 * BLOCK) {
+			if (numL == 0) {
+				startL = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsL[numL] = i;
+					numL += less(a[l + i], v) ? 0 : 1;
+				}
+			}
+			if (numR == 0) {
+				startR = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsR[numR] = i;
+					numR += less(v, a[r - i]) ? 0 : 1;
+				}
+			}
+
+			// exchange the misplaced elements pairwise
+			int num = Math.min(numL, numR);
+			for (int k = 0; k < num; k++) {
+				exch(a, l + offsetsL[startL + k], r - offsetsR[startR + k]);
+			}
+			numL -= num;
+			numR -= num;
+			startL += num;
+			startR += num;
+			if (numL == 0)
+				l += BLOCK;
+			if (numR == 0)
+				r -= BLOCK;
+		}
+
+		int i = l - 1;
+		int j = r + 1;
+		while (true) {
+			while (less(a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+			while (less(v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+			if (i >= j)
+				break;
+			exch(a, i, j);
+		}
+
+		exch(a, lo, j);
+		return j;
+	}
+
+	private static void blockQuicksort(int[] a, int lo, int hi, int[] offsetsL, int[] offsetsR) {
+		if (hi <= lo)
+			return;
+
+		int j = blockPartition(a, lo, hi, offsetsL, offsetsR);
+		blockQuicksort(a, lo, j - 1, offsetsL, offsetsR);
+		blockQuicksort(a, j + 1, hi, offsetsL, offsetsR);
+	}
+
+	private static int partition(long[] a, int lo, int hi) {
+		int i = lo; // left point
+		int j = hi + 1; // right point
+		long v = a[lo]; // partition element
+
+		while (true) {
+			while (less(a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+
+			while (less(v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+
+			if (i >= j)
+				break;
+
+			exch(a, i, j);
+		}
+
+		exch(a, lo, j);
+		return j;
 	}
 
-	private static void sort(Object[] a, int lo, int hi, Comparator comparator) {
+	private static void quicksort(long[] a, int lo, int hi) {
 		if (hi <= lo)
 			return;
 
-		int j = partition(a, lo, hi, comparator);
-		sort(a, lo, j - 1, comparator);
-		sort(a, j + 1, hi, comparator);
+		int j = partition(a, lo, hi);
+		quicksort(a, lo, j - 1);
+		quicksort(a, j + 1, hi);
+	}
+
+	private static int blockPartition(long[] a, int lo, int hi, int[] offsetsL, int[] offsetsR) {
+		if (hi - lo <= 2 * BLOCK)
+			return partition(a, lo, hi);
+
+		long v = a[lo];
+		int startL = 0, numL = 0;
+		int startR = 0, numR = 0;
+		int l = lo + 1, r = hi;
+
+		while (r - l + 1 > 2 * BLOCK) {
+			if (numL == 0) {
+				startL = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsL[numL] = i;
+					numL += less(a[l + i], v) ? 0 : 1;
+				}
+			}
+			if (numR == 0) {
+				startR = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsR[numR] = i;
+					numR += less(v, a[r - i]) ? 0 : 1;
+				}
+			}
+
+			// exchange the misplaced elements pairwise
+			int num = Math.min(numL, numR);
+			for (int k = 0; k < num; k++) {
+				exch(a, l + offsetsL[startL + k], r - offsetsR[startR + k]);
+			}
+			numL -= num;
+			numR -= num;
+			startL += num;
+			startR += num;
+			if (numL == 0)
+				l += BLOCK;
+			if (numR == 0)
+				r -= BLOCK;
+		}
+
+		int i = l - 1;
+		int j = r + 1;
+		while (true) {
+			while (less(a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+			while (less(v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+			if (i >= j)
+				break;
+			exch(a, i, j);
+		}
+
+		exch(a, lo, j);
+		return j;
+	}
+
+	private static void blockQuicksort(long[] a, int lo, int hi, int[] offsetsL, int[] offsetsR) {
+		if (hi <= lo)
+			return;
+
+		int j = blockPartition(a, lo, hi, offsetsL, offsetsR);
+		blockQuicksort(a, lo, j - 1, offsetsL, offsetsR);
+		blockQuicksort(a, j + 1, hi, offsetsL, offsetsR);
+	}
+
+	private static int partition(double[] a, int lo, int hi) {
+		int i = lo; // left point
+		int j = hi + 1; // right point
+		double v = a[lo]; // partition element
+
+		while (true) {
+			while (less(a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+
+			while (less(v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+
+			if (i >= j)
+				break;
+
+			exch(a, i, j);
+		}
+
+		exch(a, lo, j);
+		return j;
+	}
+
+	private static void quicksort(double[] a, int lo, int hi) {
+		if (hi <= lo)
+			return;
+
+		int j = partition(a, lo, hi);
+		quicksort(a, lo, j - 1);
+		quicksort(a, j + 1, hi);
+	}
+
+	private static int blockPartition(double[] a, int lo, int hi, int[] offsetsL, int[] offsetsR) {
+		if (hi - lo <= 2 * BLOCK)
+			return partition(a, lo, hi);
+
+		double v = a[lo];
+		int startL = 0, numL = 0;
+		int startR = 0, numR = 0;
+		int l = lo + 1, r = hi;
+
+		while (r - l + 1 > 2 * BLOCK) {
+			if (numL == 0) {
+				startL = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsL[numL] = i;
+					numL += less(a[l + i], v) ? 0 : 1;
+				}
+			}
+			if (numR == 0) {
+				startR = 0;
+				for (int i = 0; i < BLOCK; i++) {
+					offsetsR[numR] = i;
+					numR += less(v, a[r - i]) ? 0 : 1;
+				}
+			}
+
+			// exchange the misplaced elements pairwise
+			int num = Math.min(numL, numR);
+			for (int k = 0; k < num; k++) {
+				exch(a, l + offsetsL[startL + k], r - offsetsR[startR + k]);
+			}
+			numL -= num;
+			numR -= num;
+			startL += num;
+			startR += num;
+			if (numL == 0)
+				l += BLOCK;
+			if (numR == 0)
+				r -= BLOCK;
+		}
+
+		int i = l - 1;
+		int j = r + 1;
+		while (true) {
+			while (less(a[++i], v)) {
+				if (i == hi)
+					break;
+			}
+			while (less(v, a[--j])) {
+				if (j == lo)
+					break;
+			}
+			if (i >= j)
+				break;
+			exch(a, i, j);
+		}
+
+		exch(a, lo, j);
+		return j;
+	}
+
+	private static void blockQuicksort(double[] a, int lo, int hi, int[] offsetsL, int[] offsetsR) {
+		if (hi <= lo)
+			return;
+
+		int j = blockPartition(a, lo, hi, offsetsL, offsetsR);
+		blockQuicksort(a, lo, j - 1, offsetsL, offsetsR);
+		blockQuicksort(a, j + 1, hi, offsetsL, offsetsR);
 	}
 
 	// a < b ?
@@ -131,11 +1106,23 @@ public class Quick {
 		return a.compareTo(b) < 0;
 	}
 
+	// a < b ?
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
+		return a.compareTo(b) < 0;
+	}
+
 	// a < b ?
 	private static boolean less(Comparator comparator, Object a, Object b) {
 		return comparator.compare(a, b) < 0;
 	}
 
+	// a < b ?
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
+		return comparator.compare(a, b) < 0;
+	}
+
 	// exchange a[i] and a[j]
 	private static void exch(Object[] a, int i, int j) {
 		Object temp = a[i];
@@ -143,20 +1130,102 @@ public class Quick {
 		a[j] = temp;
 	}
 
-	// random sort an array
-	private static void shuffle(Object[] a) {
+	// exchange a[i] and a[j]
+	private static void exch(SortMetrics metrics, Object[] a, int i, int j) {
+		metrics.swap();
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(Object[] a, int lo, int hi) {
 		if (a == null)
 			throw new IllegalArgumentException("array is null.");
 		Random random = new Random();
-		int N = a.length;
-		for (int i = 0; i < N; i++) {
-			int j = i + random.nextInt(N - i);
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
 			Object temp = a[i];
 			a[i] = a[j];
 			a[j] = temp;
 		}
 	}
 
+	// a < b ?
+	private static boolean less(int a, int b) {
+		return a < b;
+	}
+
+	// a < b ?
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(int[] a, int i, int j) {
+		int temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(long[] a, int i, int j) {
+		long temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(double[] a, int i, int j) {
+		double temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(int[] a, int lo, int hi) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		Random random = new Random();
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
+			int temp = a[i];
+			a[i] = a[j];
+			a[j] = temp;
+		}
+	}
+
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(long[] a, int lo, int hi) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		Random random = new Random();
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
+			long temp = a[i];
+			a[i] = a[j];
+			a[j] = temp;
+		}
+	}
+
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(double[] a, int lo, int hi) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		Random random = new Random();
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
+			double temp = a[i];
+			a[i] = a[j];
+			a[j] = temp;
+		}
+	}
+
 	// test
 	public static void main(String[] args) {
 		String[] a = new Scanner(System.in).nextLine().split("\\s+");
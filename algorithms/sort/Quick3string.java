@@ -0,0 +1,174 @@
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * Three-way String Quick Sort (multikey quicksort). Each partition step looks
+ * at a single character: the strings whose d-th character is equal to the
+ * one of the partition element are sorted on the next character, so a prefix
+ * shared by many strings is scanned only once instead of at every level as a
+ * {@link Quick3way} sort on whole strings does.
+ *
+ * @author SylvanasSun
+ *
+ */
+public class Quick3string {
+	private static final int CUTOFF = 15; // cutoff to insertion sort
+
+	// This class should not be instantiated.
+	private Quick3string() {
+	}
+
+	/**
+	 * Rearranges the array of strings in ascending order, using the natural
+	 * order of {@link String#compareTo(String)}.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(String[] a) {
+		shuffle(a);
+		sort(a, 0, a.length - 1, 0);
+	}
+
+	// 3-way string quicksort a[lo..hi] starting at d-th character
+	private static void sort(String[] a, int lo, int hi, int d) {
+		if (hi <= lo + CUTOFF) {
+			insertionSort(a, lo, hi, d);
+			return;
+		}
+
+		int lt, gt, v;
+		while (true) {
+			lt = lo;
+			gt = hi;
+			v = charAt(a[lo], d); // partition character
+			int i = lo + 1;
+
+			// a[lo..lt-1] < v = a[lt..gt] < a[gt+1..hi] on the d-th character
+			while (i <= gt) {
+				int t = charAt(a[i], d);
+				if (t < v) {
+					exch(a, lt++, i++);
+				} else if (t > v) {
+					exch(a, i, gt--);
+				} else {
+					i++;
+				}
+			}
+			if (lt != lo || gt != hi || v < 0)
+				break;
+
+			// every string has the same d-th character, skip the whole
+			// shared prefix in one scan instead of one partition per character
+			d = commonPrefix(a, lo, hi, d + 1);
+		}
+
+		sort(a, lo, lt - 1, d);
+		// strings that ended at d are all equal, nothing left to sort
+		if (v >= 0)
+			sort(a, lt, gt, d + 1);
+		sort(a, gt + 1, hi, d);
+	}
+
+	// return the length of the longest prefix shared by a[lo..hi], given
+	// that they are known to share the first d characters
+	private static int commonPrefix(String[] a, int lo, int hi, int d) {
+		String p = a[lo];
+		int n = p.length();
+		for (int i = lo + 1; i <= hi && n > d; i++) {
+			String s = a[i];
+			int m = Math.min(n, s.length());
+			int j = d;
+			while (j < m && s.charAt(j) == p.charAt(j)) {
+				j++;
+			}
+			n = j;
+		}
+		return n;
+	}
+
+	// return d-th character of s, -1 if d = length of string
+	private static int charAt(String s, int d) {
+		if (d == s.length())
+			return -1;
+		return s.charAt(d);
+	}
+
+	// insertion sort a[lo..hi] whose strings share the first d characters,
+	// with a sentinel and half exchanges (see InsertionX)
+	private static void insertionSort(String[] a, int lo, int hi, int d) {
+		// put smallest element in position to serve as sentinel
+		int exchanges = 0;
+		for (int i = hi; i > lo; i--) {
+			if (less(a[i], a[i - 1], d)) {
+				exch(a, i, i - 1);
+				exchanges++;
+			}
+		}
+		if (exchanges == 0)
+			return;
+
+		// insertion sort with half-exchanges
+		for (int i = lo + 2; i <= hi; i++) {
+			String v = a[i];
+			int j = i;
+			while (less(v, a[j - 1], d)) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// is v less than w, starting at d-th character ?
+	private static boolean less(String v, String w, int d) {
+		int n = Math.min(v.length(), w.length());
+		for (int i = d; i < n; i++) {
+			char x = v.charAt(i), y = w.charAt(i);
+			if (x != y)
+				return x < y;
+		}
+		return v.length() < w.length();
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(Object[] a, int i, int j) {
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// random sort an array
+	private static void shuffle(Object[] a) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		Random random = new Random();
+		int N = a.length;
+		for (int i = 0; i < N; i++) {
+			int j = i + random.nextInt(N - i);
+			Object temp = a[i];
+			a[i] = a[j];
+			a[j] = temp;
+		}
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		Quick3string.sort(a);
+		Quick3string.print(a);
+	}
+
+}
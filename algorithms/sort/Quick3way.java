@@ -17,8 +17,54 @@ public class Quick3way {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		shuffle(a);
-		sort(a, 0, a.length - 1);
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1, metrics);
 	}
 
 	/**
@@ -30,8 +76,146 @@ public class Quick3way {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
-		shuffle(a);
-		sort(a, 0, a.length - 1, comparator);
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1, comparator, metrics);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code int} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(int[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code long} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(long[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code double} values in
+	 * ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(double[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		shuffle(a, lo, hi);
+		quicksort(a, lo, hi - 1);
 	}
 
 	/**
@@ -47,71 +231,215 @@ public class Quick3way {
 	}
 
 	// quicksort the subarray a[lo .. hi] using 3-way partitioning
-	private static void sort(Comparable[] a, int lo, int hi) {
+	private static void quicksort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
 		if (hi <= lo)
 			return;
 
+		metrics.enter();
 		int lt = lo, i = lo + 1, gt = hi;
 		Comparable v = a[lo]; // partition element
 
 		// a[lo..lt-1] < a[lt..gt] < a[gt+1..hi]
 		while (i <= gt) {
+			metrics.compare();
 			int cmp = a[i].compareTo(v);
 			if (cmp < 0) {
-				exch(a, i++, lt++);
+				exch(metrics, a, i++, lt++);
 			} else if (cmp > 0) {
-				exch(a, i, gt--);
+				exch(metrics, a, i, gt--);
 			} else {
 				i++;
 			}
 		}
-		sort(a, lo, lt - 1);
-		sort(a, gt + 1, hi);
+		quicksort(a, lo, lt - 1, metrics);
+		quicksort(a, gt + 1, hi, metrics);
+		metrics.exit();
 	}
 
-	private static void sort(Object[] a, int lo, int hi, Comparator comparator) {
+	private static void quicksort(Object[] a, int lo, int hi, Comparator comparator, SortMetrics metrics) {
 		if (hi <= lo)
 			return;
 
+		metrics.enter();
 		int lt = lo, i = lo + 1, gt = hi;
 		Object v = a[lo]; // partition element
 
 		// a[lo..lt-1] < a[lt..gt] < a[gt+1..hi]
 		while (i <= gt) {
+			metrics.compare();
 			int cmp = comparator.compare(a[i], v);
 			if (cmp < 0) {
-				exch(a, i++, lt++);
+				exch(metrics, a, i++, lt++);
 			} else if (cmp > 0) {
+				exch(metrics, a, i, gt--);
+			} else {
+				i++;
+			}
+		}
+		quicksort(a, lo, lt - 1, comparator, metrics);
+		quicksort(a, gt + 1, hi, comparator, metrics);
+		metrics.exit();
+	}
+
+	private static void quicksort(int[] a, int lo, int hi) {
+		if (hi <= lo)
+			return;
+
+		int lt = lo, i = lo + 1, gt = hi;
+		int v = a[lo]; // partition element
+
+		// a[lo..lt-1] < a[lt..gt] < a[gt+1..hi]
+		while (i <= gt) {
+			if (less(a[i], v)) {
+				exch(a, i++, lt++);
+			} else if (less(v, a[i])) {
 				exch(a, i, gt--);
 			} else {
 				i++;
 			}
 		}
-		sort(a, lo, lt - 1, comparator);
-		sort(a, gt + 1, hi, comparator);
+		quicksort(a, lo, lt - 1);
+		quicksort(a, gt + 1, hi);
+	}
+
+	private static void quicksort(long[] a, int lo, int hi) {
+		if (hi <= lo)
+			return;
+
+		int lt = lo, i = lo + 1, gt = hi;
+		long v = a[lo]; // partition element
+
+		// a[lo..lt-1] < a[lt..gt] < a[gt+1..hi]
+		while (i <= gt) {
+			if (less(a[i], v)) {
+				exch(a, i++, lt++);
+			} else if (less(v, a[i])) {
+				exch(a, i, gt--);
+			} else {
+				i++;
+			}
+		}
+		quicksort(a, lo, lt - 1);
+		quicksort(a, gt + 1, hi);
+	}
+
+	private static void quicksort(double[] a, int lo, int hi) {
+		if (hi <= lo)
+			return;
+
+		int lt = lo, i = lo + 1, gt = hi;
+		double v = a[lo]; // partition element
+
+		// a[lo..lt-1] < a[lt..gt] < a[gt+1..hi]
+		while (i <= gt) {
+			if (less(a[i], v)) {
+				exch(a, i++, lt++);
+			} else if (less(v, a[i])) {
+				exch(a, i, gt--);
+			} else {
+				i++;
+			}
+		}
+		quicksort(a, lo, lt - 1);
+		quicksort(a, gt + 1, hi);
 	}
 
 	// exchange a[i] and a[j]
-	private static void exch(Object[] a, int i, int j) {
+	private static void exch(SortMetrics metrics, Object[] a, int i, int j) {
+		metrics.swap();
 		Object temp = a[i];
 		a[i] = a[j];
 		a[j] = temp;
 	}
 
-	// random sort an array
-	private static void shuffle(Object[] a) {
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(Object[] a, int lo, int hi) {
 		if (a == null)
 			throw new IllegalArgumentException("array is null.");
 		Random random = new Random();
-		int N = a.length;
-		for (int i = 0; i < N; i++) {
-			int j = i + random.nextInt(N - i);
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
 			Object temp = a[i];
 			a[i] = a[j];
 			a[j] = temp;
 		}
 	}
 
+	// a < b ?
+	private static boolean less(int a, int b) {
+		return a < b;
+	}
+
+	// a < b ?
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(int[] a, int i, int j) {
+		int temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(long[] a, int i, int j) {
+		long temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(double[] a, int i, int j) {
+		double temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(int[] a, int lo, int hi) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		Random random = new Random();
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
+			int temp = a[i];
+			a[i] = a[j];
+			a[j] = temp;
+		}
+	}
+
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(long[] a, int lo, int hi) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		Random random = new Random();
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
+			long temp = a[i];
+			a[i] = a[j];
+			a[j] = temp;
+		}
+	}
+
+	// random sort the subarray a[lo..hi)
+	private static void shuffle(double[] a, int lo, int hi) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		Random random = new Random();
+		for (int i = lo; i < hi; i++) {
+			int j = i + random.nextInt(hi - i);
+			double temp = a[i];
+			a[i] = a[j];
+			a[j] = temp;
+		}
+	}
+
 	public static void main(String[] args) {
 		String[] a = new Scanner(System.in).nextLine().split("\\s+");
 		Quick3way.sort(a);
@@ -0,0 +1,391 @@
+/**
+ * Quick Sort using dual-pivot partitioning. Two partition elements p1 <= p2
+ * split the subarray into three parts (< p1, between, > p2) in a single scan,
+ * which takes fewer element moves than the single-pivot {@link Quick}. The
+ * partition elements are the 2nd and 4th of five sampled elements instead of
+ * shuffling the whole array first, and small subarrays use insertion sort.
+ * As in the JDK, keys equal to a partition element are moved out of a large
+ * middle part, and a subarray that needs more than 2 * log2(n) partitions is
+ * sorted by heapsort, so the worst case is O(n log n).
+ *
+ * @author SylvanasSun
+ *
+ */
+public class QuickDualPivot {
+	private static final int CUTOFF = 27; // cutoff to insertion sort
+
+	// This class should not be instantiated.
+	private QuickDualPivot() {
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order.
+	 *
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparable[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		quicksort(a, lo, hi - 1, depthLimit(hi - lo));
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            a the array to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a) {
+		sort(comparator, a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		Ranges.check(a.length, lo, hi);
+		quicksort(a, lo, hi - 1, depthLimit(hi - lo), comparator);
+	}
+
+	/**
+	 * Print array elements to console
+	 *
+	 * @param a
+	 *            a the array element print to console
+	 */
+	public static void print(Object[] a) {
+		for (int i = 0; i < a.length; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+	// quicksort the subarray a[lo .. hi] using dual-pivot partitioning, the
+	// subarray is sorted by heapsort once depth more partitions were needed
+	private static void quicksort(Comparable[] a, int lo, int hi, int depth) {
+		while (hi > lo + CUTOFF) {
+			if (depth-- == 0) {
+				heapSort(a, lo, hi);
+				return;
+			}
+
+			choosePivots(a, lo, hi);
+			Comparable p1 = a[lo], p2 = a[hi]; // partition elements, p1 <= p2
+
+			// a[lo+1..lt-1] < p1 <= a[lt..i-1] <= p2 < a[gt+1..hi-1]
+			int lt = lo + 1, gt = hi - 1;
+			outer: for (int i = lt; i <= gt; i++) {
+				Comparable v = a[i];
+				if (less(v, p1)) {
+					a[i] = a[lt];
+					a[lt++] = v;
+				} else if (less(p2, v)) {
+					// skip the elements at the right end which are already in place
+					while (less(p2, a[gt])) {
+						if (gt-- == i)
+							break outer;
+					}
+					if (less(a[gt], p1)) {
+						a[i] = a[lt];
+						a[lt++] = a[gt];
+					} else {
+						a[i] = a[gt];
+					}
+					a[gt--] = v;
+				}
+			}
+
+			// put partition elements into their final positions
+			a[lo] = a[lt - 1];
+			a[lt - 1] = p1;
+			a[hi] = a[gt + 1];
+			a[gt + 1] = p2;
+
+			int leftHi = lt - 2, rightLo = gt + 2;
+			if (!less(p1, p2)) {
+				// the middle part is all equal if the partition elements are equal
+				gt = lt - 1;
+			} else if (gt - lt + 1 > (hi - lo + 1) / 7 * 4) {
+				// the middle part is large, move the keys equal to p1 or p2 to its
+				// ends, so that many duplicate keys do not stay in it forever
+				// p1 == a[..lt-1], a[lt..i-1] strictly between, p2 == a[gt+1..]
+				outer: for (int i = lt; i <= gt; i++) {
+					Comparable v = a[i];
+					if (!less(p1, v)) {
+						a[i] = a[lt];
+						a[lt++] = v;
+					} else if (!less(v, p2)) {
+						while (!less(a[gt], p2)) {
+							if (gt-- == i)
+								break outer;
+						}
+						if (!less(p1, a[gt])) {
+							a[i] = a[lt];
+							a[lt++] = a[gt];
+						} else {
+							a[i] = a[gt];
+						}
+						a[gt--] = v;
+					}
+				}
+			}
+
+			// recurse into the two smaller parts, loop on the largest one
+			int left = leftHi - lo, middle = gt - lt, right = hi - rightLo;
+			if (left >= middle && left >= right) {
+				quicksort(a, lt, gt, depth);
+				quicksort(a, rightLo, hi, depth);
+				hi = leftHi;
+			} else if (middle >= right) {
+				quicksort(a, lo, leftHi, depth);
+				quicksort(a, rightLo, hi, depth);
+				lo = lt;
+				hi = gt;
+			} else {
+				quicksort(a, lo, leftHi, depth);
+				quicksort(a, lt, gt, depth);
+				lo = rightLo;
+			}
+		}
+		insertionSort(a, lo, hi);
+	}
+
+	private static void quicksort(Object[] a, int lo, int hi, int depth, Comparator comparator) {
+		while (hi > lo + CUTOFF) {
+			if (depth-- == 0) {
+				heapSort(a, lo, hi, comparator);
+				return;
+			}
+
+			choosePivots(a, lo, hi, comparator);
+			Object p1 = a[lo], p2 = a[hi]; // partition elements, p1 <= p2
+
+			int lt = lo + 1, gt = hi - 1;
+			outer: for (int i = lt; i <= gt; i++) {
+				Object v = a[i];
+				if (less(comparator, v, p1)) {
+					a[i] = a[lt];
+					a[lt++] = v;
+				} else if (less(comparator, p2, v)) {
+					while (less(comparator, p2, a[gt])) {
+						if (gt-- == i)
+							break outer;
+					}
+					if (less(comparator, a[gt], p1)) {
+						a[i] = a[lt];
+						a[lt++] = a[gt];
+					} else {
+						a[i] = a[gt];
+					}
+					a[gt--] = v;
+				}
+			}
+
+			a[lo] = a[lt - 1];
+			a[lt - 1] = p1;
+			a[hi] = a[gt + 1];
+			a[gt + 1] = p2;
+
+			int leftHi = lt - 2, rightLo = gt + 2;
+			if (!less(comparator, p1, p2)) {
+				gt = lt - 1;
+			} else if (gt - lt + 1 > (hi - lo + 1) / 7 * 4) {
+				outer: for (int i = lt; i <= gt; i++) {
+					Object v = a[i];
+					if (!less(comparator, p1, v)) {
+						a[i] = a[lt];
+						a[lt++] = v;
+					} else if (!less(comparator, v, p2)) {
+						while (!less(comparator, a[gt], p2)) {
+							if (gt-- == i)
+								break outer;
+						}
+						if (!less(comparator, p1, a[gt])) {
+							a[i] = a[lt];
+							a[lt++] = a[gt];
+						} else {
+							a[i] = a[gt];
+						}
+						a[gt--] = v;
+					}
+				}
+			}
+
+			int left = leftHi - lo, middle = gt - lt, right = hi - rightLo;
+			if (left >= middle && left >= right) {
+				quicksort(a, lt, gt, depth, comparator);
+				quicksort(a, rightLo, hi, depth, comparator);
+				hi = leftHi;
+			} else if (middle >= right) {
+				quicksort(a, lo, leftHi, depth, comparator);
+				quicksort(a, rightLo, hi, depth, comparator);
+				lo = lt;
+				hi = gt;
+			} else {
+				quicksort(a, lo, leftHi, depth, comparator);
+				quicksort(a, lt, gt, depth, comparator);
+				lo = rightLo;
+			}
+		}
+		insertionSort(a, lo, hi, comparator);
+	}
+
+	// 2 * floor(log2(n)), the recursion depth at which quicksort gives up
+	private static int depthLimit(int n) {
+		return n <= 1 ? 0 : 2 * (31 - Integer.numberOfLeadingZeros(n));
+	}
+
+	// sort five evenly spaced elements of a[lo..hi] and move the 2nd and the
+	// 4th of them to a[lo] and a[hi] as the partition elements
+	private static void choosePivots(Comparable[] a, int lo, int hi) {
+		int seventh = ((hi - lo + 1) >> 3) + ((hi - lo + 1) >> 6) + 1;
+		int e3 = lo + (hi - lo) / 2;
+		int e2 = e3 - seventh, e1 = e2 - seventh;
+		int e4 = e3 + seventh, e5 = e4 + seventh;
+		int[] e = { e1, e2, e3, e4, e5 };
+		for (int i = 1; i < e.length; i++) {
+			for (int j = i; j > 0 && less(a[e[j]], a[e[j - 1]]); j--) {
+				exch(a, e[j], e[j - 1]);
+			}
+		}
+		exch(a, lo, e2);
+		exch(a, hi, e4);
+	}
+
+	private static void choosePivots(Object[] a, int lo, int hi, Comparator comparator) {
+		int seventh = ((hi - lo + 1) >> 3) + ((hi - lo + 1) >> 6) + 1;
+		int e3 = lo + (hi - lo) / 2;
+		int e2 = e3 - seventh, e1 = e2 - seventh;
+		int e4 = e3 + seventh, e5 = e4 + seventh;
+		int[] e = { e1, e2, e3, e4, e5 };
+		for (int i = 1; i < e.length; i++) {
+			for (int j = i; j > 0 && less(comparator, a[e[j]], a[e[j - 1]]); j--) {
+				exch(a, e[j], e[j - 1]);
+			}
+		}
+		exch(a, lo, e2);
+		exch(a, hi, e4);
+	}
+
+	// insertion sort a[lo..hi] with half exchanges
+	private static void insertionSort(Comparable[] a, int lo, int hi) {
+		for (int i = lo + 1; i <= hi; i++) {
+			Comparable v = a[i];
+			int j = i;
+			while (j > lo && less(v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	private static void insertionSort(Object[] a, int lo, int hi, Comparator comparator) {
+		for (int i = lo + 1; i <= hi; i++) {
+			Object v = a[i];
+			int j = i;
+			while (j > lo && less(comparator, v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// in-place heapsort of a[lo..hi], a[lo + k - 1] is the k-th node of the heap
+	private static void heapSort(Comparable[] a, int lo, int hi) {
+		int n = hi - lo + 1;
+		for (int k = n / 2; k >= 1; k--) {
+			sink(a, lo, k, n);
+		}
+		while (n > 1) {
+			exch(a, lo, lo + n - 1);
+			sink(a, lo, 1, --n);
+		}
+	}
+
+	private static void heapSort(Object[] a, int lo, int hi, Comparator comparator) {
+		int n = hi - lo + 1;
+		for (int k = n / 2; k >= 1; k--) {
+			sink(a, lo, k, n, comparator);
+		}
+		while (n > 1) {
+			exch(a, lo, lo + n - 1);
+			sink(a, lo, 1, --n, comparator);
+		}
+	}
+
+	private static void sink(Comparable[] a, int lo, int k, int n) {
+		while (2 * k <= n) {
+			int j = 2 * k;
+			if (j < n && less(a[lo + j - 1], a[lo + j]))
+				j++;
+			if (!less(a[lo + k - 1], a[lo + j - 1]))
+				break;
+			exch(a, lo + k - 1, lo + j - 1);
+			k = j;
+		}
+	}
+
+	private static void sink(Object[] a, int lo, int k, int n, Comparator comparator) {
+		while (2 * k <= n) {
+			int j = 2 * k;
+			if (j < n && less(comparator, a[lo + j - 1], a[lo + j]))
+				j++;
+			if (!less(comparator, a[lo + k - 1], a[lo + j - 1]))
+				break;
+			exch(a, lo + k - 1, lo + j - 1);
+			k = j;
+		}
+	}
+
+	// a < b ?
+	private static boolean less(Comparable a, Comparable b) {
+		return a.compareTo(b) < 0;
+	}
+
+	// a < b ?
+	private static boolean less(Comparator comparator, Object a, Object b) {
+		return comparator.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(Object[] a, int i, int j) {
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// test
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		QuickDualPivot.sort(a);
+		QuickDualPivot.print(a);
+	}
+
+}
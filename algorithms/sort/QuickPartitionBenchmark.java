@@ -0,0 +1,78 @@
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares the partition schemes of {@link Quick} ({@link Quick.Partition}) on
+ * random input: {@code int[]}, {@code long[]} and {@code double[]} values,
+ * boxed {@code Integer[]} values, and {@code int[]} values with few distinct
+ * keys. Every case sorts the same input a few times to warm up and then the
+ * best of the measured rounds is reported.
+ *
+ * Usage: java QuickPartitionBenchmark [n]
+ *
+ * @author SylvanasSun
+ *
+ */
+public class QuickPartitionBenchmark {
+	private static final int WARMUP = 3;
+	private static final int ROUNDS = 5;
+
+	// This class should not be instantiated.
+	private QuickPartitionBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		Random random = new Random(42);
+		int[] ints = new int[n];
+		int[] few = new int[n];
+		long[] longs = new long[n];
+		double[] doubles = new double[n];
+		Integer[] boxed = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			ints[i] = random.nextInt();
+			few[i] = random.nextInt(16);
+			longs[i] = random.nextLong();
+			doubles[i] = random.nextDouble();
+			boxed[i] = ints[i];
+		}
+
+		System.out.printf("%-14s %10s %12s %12s %8s%n", "input", "n", "hoare (ms)", "block (ms)", "speedup");
+		run("int", n, () -> ints.clone(), Quick::sort);
+		run("int (16 keys)", n, () -> few.clone(), Quick::sort);
+		run("long", n, () -> longs.clone(), Quick::sort);
+		run("double", n, () -> doubles.clone(), Quick::sort);
+		run("Integer", n, () -> boxed.clone(), Quick::sort);
+	}
+
+	// sorts of one input type with a partition scheme
+	private interface Sort<T> {
+		void sort(T a, Quick.Partition partition);
+	}
+
+	// copies of the input
+	private interface Input<T> {
+		T copy();
+	}
+
+	private static <T> void run(String name, int n, Input<T> input, Sort<T> sort) {
+		double hoare = best(input, a -> sort.sort(a, Quick.Partition.HOARE));
+		double block = best(input, a -> sort.sort(a, Quick.Partition.BLOCK));
+		System.out.printf("%-14s %10d %12.2f %12.2f %7.2fx%n", name, n, hoare, block, hoare / block);
+	}
+
+	// best time in milliseconds of sorting a copy of the input
+	private static <T> double best(Input<T> input, Consumer<T> sort) {
+		double best = Double.MAX_VALUE;
+		for (int round = 0; round < WARMUP + ROUNDS; round++) {
+			T a = input.copy();
+			long start = System.nanoTime();
+			sort.accept(a);
+			double elapsed = (System.nanoTime() - start) / 1e6;
+			if (round >= WARMUP)
+				best = Math.min(best, elapsed);
+		}
+		return best;
+	}
+
+}
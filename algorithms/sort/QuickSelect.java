@@ -0,0 +1,307 @@
+import java.util.Comparator;
+import java.util.Scanner;
+
+/**
+ * Selection of the k-th smallest element, and of the k smallest elements, in
+ * expected linear time instead of sorting the whole array. The array is
+ * partitioned with the three-way split of {@link Quick3way} and only the part
+ * containing index k is partitioned again. For large subarrays the partition
+ * element is chosen by Floyd-Rivest sampling (a recursive selection in a small
+ * sample around the expected position of the k-th element) so that k lands in
+ * a small part. As in introselect, once a round fails to shrink the subarray
+ * to 3/4 of its size the median of medians is used for the rest, which puts
+ * at least 3/10 of the elements on each side, so the sizes of all rounds form
+ * a geometric series and the worst case is O(n).
+ *
+ * @author SylvanasSun
+ *
+ */
+public class QuickSelect {
+	private static final int CUTOFF = 16; // cutoff to insertion sort
+	private static final int SAMPLING_CUTOFF = 600; // cutoff to Floyd-Rivest sampling
+
+	// This class should not be instantiated.
+	private QuickSelect() {
+	}
+
+	/**
+	 * Returns the k-th smallest element of the array (counting from 0), using
+	 * the natural order. The array is rearranged as by
+	 * {@link #nthElement(Comparable[], int)}.
+	 *
+	 * @param a
+	 *            the array
+	 * @param k
+	 *            the rank of the element, in [0, a.length)
+	 */
+	public static Comparable select(Comparable[] a, int k) {
+		nthElement(a, k);
+		return a[k];
+	}
+
+	/**
+	 * Returns the k-th smallest element of the array (counting from 0), using a
+	 * comparator. The array is rearranged as by
+	 * {@link #nthElement(Comparator, Object[], int)}.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array
+	 * @param k
+	 *            the rank of the element, in [0, a.length)
+	 */
+	public static Object select(Comparator comparator, Object[] a, int k) {
+		nthElement(comparator, a, k);
+		return a[k];
+	}
+
+	/**
+	 * Rearranges the array so that a[k] is the element which would be there if
+	 * the array was sorted, a[0..k-1] <= a[k] <= a[k+1..] in the natural order.
+	 *
+	 * @param a
+	 *            the array
+	 * @param k
+	 *            the rank of the element, in [0, a.length)
+	 */
+	public static void nthElement(Comparable[] a, int k) {
+		nthElement(NaturalOrder.INSTANCE, a, k);
+	}
+
+	/**
+	 * Rearranges the array so that a[k] is the element which would be there if
+	 * the array was sorted, a[0..k-1] <= a[k] <= a[k+1..] in the order of the
+	 * comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array
+	 * @param k
+	 *            the rank of the element, in [0, a.length)
+	 */
+	public static void nthElement(Comparator comparator, Object[] a, int k) {
+		if (k < 0 || k >= a.length)
+			throw new IllegalArgumentException("k is out of range: " + k);
+		select(a, 0, a.length - 1, k, comparator);
+	}
+
+	/**
+	 * Rearranges the array so that a[0..k-1] are its k smallest elements in
+	 * ascending order, using the natural order. The order of the other elements
+	 * is undefined.
+	 *
+	 * @param a
+	 *            the array
+	 * @param k
+	 *            the number of smallest elements to sort, in [0, a.length]
+	 */
+	public static void partialSort(Comparable[] a, int k) {
+		partialSort(NaturalOrder.INSTANCE, a, k);
+	}
+
+	/**
+	 * Rearranges the array so that a[0..k-1] are its k smallest elements in
+	 * ascending order, using a comparator. The order of the other elements is
+	 * undefined.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array
+	 * @param k
+	 *            the number of smallest elements to sort, in [0, a.length]
+	 */
+	public static void partialSort(Comparator comparator, Object[] a, int k) {
+		if (k < 0 || k > a.length)
+			throw new IllegalArgumentException("k is out of range: " + k);
+		if (k == 0)
+			return;
+		if (k < a.length)
+			nthElement(comparator, a, k - 1);
+		sort(a, 0, k - 1, 2 * log2(k), comparator);
+	}
+
+	// rearrange a[lo..hi] so that a[k] is in its sorted position
+	private static void select(Object[] a, int lo, int hi, int k, Comparator comparator) {
+		boolean converging = true; // every round shrank the subarray to 3/4
+		while (hi > lo) {
+			if (hi - lo < CUTOFF) {
+				insertionSort(a, lo, hi, comparator);
+				return;
+			}
+
+			int p;
+			if (!converging) {
+				p = medianOfMedians(a, lo, hi, comparator);
+			} else if (hi - lo > SAMPLING_CUTOFF) {
+				p = sample(a, lo, hi, k, comparator);
+			} else {
+				p = medianOfThree(a, lo, hi, comparator);
+			}
+
+			exch(a, lo, p);
+			long range = partition(a, lo, hi, comparator);
+			int lt = (int) (range >>> 32), gt = (int) range;
+			int size = hi - lo;
+			if (k < lt) {
+				hi = lt - 1;
+			} else if (k > gt) {
+				lo = gt + 1;
+			} else {
+				return;
+			}
+			if (hi - lo > size / 4 * 3)
+				converging = false;
+		}
+	}
+
+	// Floyd-Rivest: select k within a sample of a[lo..hi] that is expected to
+	// contain the k-th element, return its index as the partition element
+	private static int sample(Object[] a, int lo, int hi, int k, Comparator comparator) {
+		int n = hi - lo + 1;
+		int i = k - lo + 1;
+		double z = Math.log(n);
+		double s = 0.5 * Math.exp(2 * z / 3);
+		double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2.0);
+		int sampleLo = Math.max(lo, (int) (k - i * s / n + sd));
+		int sampleHi = Math.min(hi, (int) (k + (n - i) * s / n + sd));
+		select(a, sampleLo, sampleHi, k, comparator);
+		return k;
+	}
+
+	// move the medians of groups of five to the front of a[lo..hi] and select
+	// their median, which has at least 3/10 of the elements on each side
+	private static int medianOfMedians(Object[] a, int lo, int hi, Comparator comparator) {
+		int groups = 0;
+		for (int i = lo; i <= hi; i += 5) {
+			int end = Math.min(i + 4, hi);
+			insertionSort(a, i, end, comparator);
+			exch(a, lo + groups++, i + (end - i) / 2);
+		}
+		int mid = lo + (groups - 1) / 2;
+		select(a, lo, lo + groups - 1, mid, comparator);
+		return mid;
+	}
+
+	// return the index of the median of a[lo], a[mid] and a[hi]
+	private static int medianOfThree(Object[] a, int lo, int hi, Comparator comparator) {
+		int mid = lo + (hi - lo) / 2;
+		if (less(comparator, a[mid], a[lo])) {
+			if (less(comparator, a[hi], a[mid]))
+				return mid;
+			return less(comparator, a[hi], a[lo]) ? hi : lo;
+		}
+		if (less(comparator, a[hi], a[mid]))
+			return less(comparator, a[hi], a[lo]) ? lo : hi;
+		return mid;
+	}
+
+	// partition a[lo..hi] around a[lo] so that a[lo..lt-1] < a[lt..gt] < a[gt+1..hi]
+	// (as Quick3way does) and return lt and gt packed into a long
+	private static long partition(Object[] a, int lo, int hi, Comparator comparator) {
+		int lt = lo, i = lo + 1, gt = hi;
+		Object v = a[lo]; // partition element
+
+		while (i <= gt) {
+			int cmp = comparator.compare(a[i], v);
+			if (cmp < 0) {
+				exch(a, i++, lt++);
+			} else if (cmp > 0) {
+				exch(a, i, gt--);
+			} else {
+				i++;
+			}
+		}
+		return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+	}
+
+	// quicksort a[lo..hi], used to order the k smallest elements, depth is the
+	// number of partitions left before falling back to heapsort
+	private static void sort(Object[] a, int lo, int hi, int depth, Comparator comparator) {
+		while (hi - lo >= CUTOFF) {
+			if (depth-- <= 0) {
+				heapSort(a, lo, hi, comparator);
+				return;
+			}
+			exch(a, lo, medianOfThree(a, lo, hi, comparator));
+			long range = partition(a, lo, hi, comparator);
+			int lt = (int) (range >>> 32), gt = (int) range;
+			// recurse into the smaller part, loop on the larger one
+			if (lt - lo < hi - gt) {
+				sort(a, lo, lt - 1, depth, comparator);
+				lo = gt + 1;
+			} else {
+				sort(a, gt + 1, hi, depth, comparator);
+				hi = lt - 1;
+			}
+		}
+		insertionSort(a, lo, hi, comparator);
+	}
+
+	// in-place heapsort of a[lo..hi], a[lo + k - 1] is the k-th node of the heap
+	private static void heapSort(Object[] a, int lo, int hi, Comparator comparator) {
+		int n = hi - lo + 1;
+		for (int k = n / 2; k >= 1; k--) {
+			sink(a, lo, k, n, comparator);
+		}
+		while (n > 1) {
+			exch(a, lo, lo + n - 1);
+			sink(a, lo, 1, --n, comparator);
+		}
+	}
+
+	private static void sink(Object[] a, int lo, int k, int n, Comparator comparator) {
+		while (2 * k <= n) {
+			int j = 2 * k;
+			if (j < n && less(comparator, a[lo + j - 1], a[lo + j]))
+				j++;
+			if (!less(comparator, a[lo + k - 1], a[lo + j - 1]))
+				break;
+			exch(a, lo + k - 1, lo + j - 1);
+			k = j;
+		}
+	}
+
+	// insertion sort a[lo..hi] with half exchanges
+	private static void insertionSort(Object[] a, int lo, int hi, Comparator comparator) {
+		for (int i = lo + 1; i <= hi; i++) {
+			Object v = a[i];
+			int j = i;
+			while (j > lo && less(comparator, v, a[j - 1])) {
+				a[j] = a[j - 1];
+				j--;
+			}
+			a[j] = v;
+		}
+	}
+
+	// floor(log2(n))
+	private static int log2(int n) {
+		return 31 - Integer.numberOfLeadingZeros(n);
+	}
+
+	// a < b ?
+	private static boolean less(Comparator comparator, Object a, Object b) {
+		return comparator.compare(a, b) < 0;
+	}
+
+	// exchange a[i] and a[j]
+	private static void exch(Object[] a, int i, int j) {
+		Object temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	// test: the first argument is k, print the k smallest words of the input
+	public static void main(String[] args) {
+		String[] a = new Scanner(System.in).nextLine().split("\\s+");
+		int k = Math.min(Integer.parseInt(args[0]), a.length);
+		QuickSelect.partialSort(a, k);
+		for (int i = 0; i < k; i++) {
+			System.out.print(a[i] + " ");
+		}
+	}
+
+}
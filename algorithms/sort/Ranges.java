@@ -0,0 +1,22 @@
+/**
+ * The check of the [lo, hi) arguments of the range sorts, shared so that every
+ * sort rejects a bad range with the same exception before it moves anything.
+ *
+ * @author SylvanasSun
+ *
+ */
+final class Ranges {
+
+	// This class should not be instantiated.
+	private Ranges() {
+	}
+
+	/**
+	 * Throws an IndexOutOfBoundsException unless 0 <= lo <= hi <= length.
+	 */
+	static void check(int length, int lo, int hi) {
+		if (lo < 0 || hi > length || lo > hi)
+			throw new IndexOutOfBoundsException("range [" + lo + ", " + hi + ") of an array of " + length);
+	}
+
+}
@@ -0,0 +1,380 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Record Sort for fixed-width binary records stored in a {@link ByteBuffer},
+ * typically a direct buffer or a file mapped by
+ * {@link java.nio.channels.FileChannel#map}. The records between the position
+ * and the limit of the buffer are sorted in place by a key of
+ * {@code keyWidth} bytes at {@code keyOffset} of every record, without
+ * deserializing them and without allocating an object per record:
+ * <ul>
+ * <li>{@link #sort(ByteBuffer)} is {@link Quick3way} over record indexes, in
+ * place and without extra memory, not stable.</li>
+ * <li>{@link #stableSort(ByteBuffer)} is {@link MergeBU}, stable, and needs a
+ * scratch region as large as the records.</li>
+ * <li>{@link #radixSort(ByteBuffer)} is LSD radix sort over the bytes of the
+ * key (see {@link LSD}), stable, needs a scratch region as large as the
+ * records and makes at most {@code keyWidth} passes.</li>
+ * </ul>
+ * A key of at most 8 bytes is an integer in the byte order of the buffer,
+ * signed unless {@link #withUnsignedKey()} is set. A wider key is compared as
+ * an unsigned byte string (lexicographically, as memcmp does).
+ *
+ * <pre>
+ * MappedByteBuffer records = channel.map(MapMode.READ_WRITE, 0, channel.size());
+ * new RecordSort(64, 0, 8).radixSort(records);
+ * </pre>
+ *
+ * @author SylvanasSun
+ *
+ */
+public class RecordSort {
+	private static final int CUTOFF = 8; // cutoff to insertion sort
+	private static final int R = 256; // radix of a key byte
+
+	private final int recordSize;
+	private final int keyOffset;
+	private final int keyWidth;
+	private boolean signed = true;
+
+	public RecordSort(int recordSize, int keyOffset, int keyWidth) {
+		if (recordSize < 1)
+			throw new IllegalArgumentException("record size must be positive.");
+		if (keyOffset < 0 || keyWidth < 1 || keyOffset + keyWidth > recordSize)
+			throw new IllegalArgumentException("key is not inside the record.");
+		this.recordSize = recordSize;
+		this.keyOffset = keyOffset;
+		this.keyWidth = keyWidth;
+	}
+
+	/**
+	 * Compares keys of at most 8 bytes as unsigned integers.
+	 */
+	public RecordSort withUnsignedKey() {
+		this.signed = false;
+		return this;
+	}
+
+	/**
+	 * Rearranges the records between the position and the limit of the buffer
+	 * in ascending order of their keys, in place. The sort is not stable.
+	 *
+	 * @param buffer
+	 *            the records to be sorted
+	 */
+	public void sort(ByteBuffer buffer) {
+		ByteBuffer a = region(buffer);
+		quicksort(a, 0, a.limit() / recordSize - 1);
+	}
+
+	/**
+	 * Rearranges the records between the position and the limit of the buffer
+	 * in ascending order of their keys. The sort is stable, a scratch buffer of
+	 * the same size is allocated.
+	 *
+	 * @param buffer
+	 *            the records to be sorted
+	 */
+	public void stableSort(ByteBuffer buffer) {
+		stableSort(buffer, scratch(buffer));
+	}
+
+	/**
+	 * Rearranges the records between the position and the limit of the buffer
+	 * in ascending order of their keys. The sort is stable.
+	 *
+	 * @param buffer
+	 *            the records to be sorted
+	 * @param scratch
+	 *            the buffer whose remaining bytes (at least as many as the ones
+	 *            of buffer) are used as temporary storage
+	 */
+	public void stableSort(ByteBuffer buffer, ByteBuffer scratch) {
+		ByteBuffer a = region(buffer);
+		ByteBuffer aux = scratch(a, scratch);
+		int n = a.limit() / recordSize;
+
+		// sort runs of CUTOFF records in place, then merge runs of len records
+		// from src to dst, switching the roles of a and aux on every pass
+		for (int lo = 0; lo < n; lo += CUTOFF) {
+			insertionSort(a, lo, Math.min(lo + CUTOFF, n) - 1);
+		}
+		ByteBuffer src = a, dst = aux;
+		for (int len = CUTOFF; len < n; len *= 2) {
+			for (int lo = 0; lo < n; lo += len + len) {
+				int mid = Math.min(lo + len, n);
+				int hi = Math.min(lo + len + len, n);
+				merge(src, dst, lo, mid, hi);
+			}
+			ByteBuffer temp = src;
+			src = dst;
+			dst = temp;
+		}
+		if (src != a)
+			copy(src, 0, a, 0, n);
+	}
+
+	/**
+	 * Rearranges the records between the position and the limit of the buffer
+	 * in ascending order of their keys, using LSD radix sort. The sort is
+	 * stable, a scratch buffer of the same size is allocated.
+	 *
+	 * @param buffer
+	 *            the records to be sorted
+	 */
+	public void radixSort(ByteBuffer buffer) {
+		radixSort(buffer, scratch(buffer));
+	}
+
+	/**
+	 * Rearranges the records between the position and the limit of the buffer
+	 * in ascending order of their keys, using LSD radix sort. The sort is
+	 * stable.
+	 *
+	 * @param buffer
+	 *            the records to be sorted
+	 * @param scratch
+	 *            the buffer whose remaining bytes (at least as many as the ones
+	 *            of buffer) are used as temporary storage
+	 */
+	public void radixSort(ByteBuffer buffer, ByteBuffer scratch) {
+		ByteBuffer a = region(buffer);
+		ByteBuffer aux = scratch(a, scratch);
+		int n = a.limit() / recordSize;
+		if (n < 2)
+			return;
+
+		// offset in the record of digit d, the least significant one is d = 0
+		int[] position = new int[keyWidth];
+		boolean littleEndian = keyWidth <= 8 && a.order() == ByteOrder.LITTLE_ENDIAN;
+		for (int d = 0; d < keyWidth; d++) {
+			position[d] = keyOffset + (littleEndian ? d : keyWidth - 1 - d);
+		}
+		// flip the sign bit of the most significant digit of a signed key
+		int flip = keyWidth <= 8 && signed ? 0x80 : 0;
+
+		// count the frequencies of every digit in a single pass
+		int[][] count = new int[keyWidth][R + 1];
+		for (int i = 0; i < n; i++) {
+			int base = i * recordSize;
+			for (int d = 0; d < keyWidth; d++) {
+				count[d][digit(a, base + position[d], d == keyWidth - 1 ? flip : 0) + 1]++;
+			}
+		}
+
+		ByteBuffer src = a, dst = aux;
+		for (int d = 0; d < keyWidth; d++) {
+			int[] next = count[d];
+			// skip the pass if every record has the same digit
+			if (next[digit(src, position[d], d == keyWidth - 1 ? flip : 0) + 1] == n)
+				continue;
+
+			for (int r = 0; r < R; r++) {
+				next[r + 1] += next[r];
+			}
+			for (int i = 0; i < n; i++) {
+				int base = i * recordSize;
+				copy(src, i, dst, next[digit(src, base + position[d], d == keyWidth - 1 ? flip : 0)]++, 1);
+			}
+			ByteBuffer temp = src;
+			src = dst;
+			dst = temp;
+		}
+		if (src != a)
+			copy(src, 0, a, 0, n);
+	}
+
+	// the records of buffer, from index 0, in the byte order of buffer
+	private ByteBuffer region(ByteBuffer buffer) {
+		if (buffer.remaining() % recordSize != 0)
+			throw new IllegalArgumentException("buffer does not hold a whole number of records.");
+		return buffer.slice().order(buffer.order());
+	}
+
+	// a new buffer for the records of buffer
+	private static ByteBuffer scratch(ByteBuffer buffer) {
+		int size = buffer.remaining();
+		return buffer.isDirect() ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+	}
+
+	// the remaining bytes of scratch, in the byte order of a, so that records
+	// are copied with getLong and putLong without reversing their bytes
+	private static ByteBuffer scratch(ByteBuffer a, ByteBuffer scratch) {
+		if (scratch.remaining() < a.limit())
+			throw new IllegalArgumentException("scratch buffer is too small.");
+		return scratch.slice().order(a.order());
+	}
+
+	// quicksort records lo..hi using 3-way partitioning, recurse into the
+	// smaller part and loop on the larger one to bound the stack depth
+	private void quicksort(ByteBuffer a, int lo, int hi) {
+		while (hi > lo + CUTOFF) {
+			// a random partition element instead of shuffling all the records
+			exch(a, lo, lo + ThreadLocalRandom.current().nextInt(hi - lo + 1));
+
+			// a[lo..lt-1] < a[lt..i-1] = v < a[gt+1..hi], a[lt] is always equal
+			// to the partition element so it is compared instead of a copy
+			int lt = lo, i = lo + 1, gt = hi;
+			while (i <= gt) {
+				int cmp = compare(a, i, lt);
+				if (cmp < 0) {
+					exch(a, i++, lt++);
+				} else if (cmp > 0) {
+					exch(a, i, gt--);
+				} else {
+					i++;
+				}
+			}
+
+			if (lt - lo < hi - gt) {
+				quicksort(a, lo, lt - 1);
+				lo = gt + 1;
+			} else {
+				quicksort(a, gt + 1, hi);
+				hi = lt - 1;
+			}
+		}
+		insertionSort(a, lo, hi);
+	}
+
+	private void insertionSort(ByteBuffer a, int lo, int hi) {
+		for (int i = lo + 1; i <= hi; i++) {
+			for (int j = i; j > lo && compare(a, j, j - 1) < 0; j--) {
+				exch(a, j, j - 1);
+			}
+		}
+	}
+
+	// stably merge src records [lo, mid) with [mid, hi) into dst [lo, hi)
+	private void merge(ByteBuffer src, ByteBuffer dst, int lo, int mid, int hi) {
+		if (mid == hi || compare(src, mid, mid - 1) >= 0) {
+			copy(src, lo, dst, lo, hi - lo);
+			return;
+		}
+		int i = lo, j = mid;
+		for (int k = lo; k < hi; k++) {
+			if (i >= mid) {
+				copy(src, j++, dst, k, 1);
+			} else if (j >= hi) {
+				copy(src, i++, dst, k, 1);
+			} else if (compare(src, j, i) < 0) {
+				copy(src, j++, dst, k, 1);
+			} else {
+				copy(src, i++, dst, k, 1);
+			}
+		}
+	}
+
+	// compare the keys of records i and j
+	private int compare(ByteBuffer a, int i, int j) {
+		if (keyWidth <= 8)
+			return Long.compare(key(a, i), key(a, j));
+		int p = i * recordSize + keyOffset, q = j * recordSize + keyOffset;
+		for (int k = 0; k < keyWidth; k++) {
+			int x = a.get(p + k) & 0xFF, y = a.get(q + k) & 0xFF;
+			if (x != y)
+				return x - y;
+		}
+		return 0;
+	}
+
+	// the integer key of record i, as a long whose signed order is the order
+	// of the keys
+	private long key(ByteBuffer a, int i) {
+		int p = i * recordSize + keyOffset;
+		switch (keyWidth) {
+		case 8:
+			return signed ? a.getLong(p) : a.getLong(p) ^ Long.MIN_VALUE;
+		case 4:
+			return signed ? a.getInt(p) : a.getInt(p) & 0xFFFFFFFFL;
+		case 2:
+			return signed ? a.getShort(p) : a.getShort(p) & 0xFFFF;
+		case 1:
+			return signed ? a.get(p) : a.get(p) & 0xFF;
+		default:
+			long key = 0;
+			if (a.order() == ByteOrder.BIG_ENDIAN) {
+				for (int k = 0; k < keyWidth; k++) {
+					key = key << 8 | (a.get(p + k) & 0xFF);
+				}
+			} else {
+				for (int k = keyWidth - 1; k >= 0; k--) {
+					key = key << 8 | (a.get(p + k) & 0xFF);
+				}
+			}
+			int shift = 64 - 8 * keyWidth;
+			return signed ? key << shift >> shift : key;
+		}
+	}
+
+	// the key byte at offset p as an unsigned value
+	private static int digit(ByteBuffer a, int p, int flip) {
+		return (a.get(p) & 0xFF) ^ flip;
+	}
+
+	// exchange records i and j
+	private void exch(ByteBuffer a, int i, int j) {
+		int p = i * recordSize, q = j * recordSize;
+		int k = 0;
+		for (; k + 8 <= recordSize; k += 8) {
+			long temp = a.getLong(p + k);
+			a.putLong(p + k, a.getLong(q + k));
+			a.putLong(q + k, temp);
+		}
+		for (; k < recordSize; k++) {
+			byte temp = a.get(p + k);
+			a.put(p + k, a.get(q + k));
+			a.put(q + k, temp);
+		}
+	}
+
+	// copy count records from src starting at record i to dst starting at
+	// record j
+	private void copy(ByteBuffer src, int i, ByteBuffer dst, int j, int count) {
+		int p = i * recordSize, q = j * recordSize, size = count * recordSize;
+		int k = 0;
+		for (; k + 8 <= size; k += 8) {
+			dst.putLong(q + k, src.getLong(p + k));
+		}
+		for (; k < size; k++) {
+			dst.put(q + k, src.get(p + k));
+		}
+	}
+
+	// test
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		int recordSize = 32;
+		ByteBuffer input = ByteBuffer.allocateDirect(n * recordSize);
+		Random random = new Random(42);
+		for (int i = 0; i < n; i++) {
+			input.putLong(i * recordSize, random.nextLong());
+		}
+		RecordSort sorter = new RecordSort(recordSize, 0, 8);
+		ByteBuffer a = ByteBuffer.allocateDirect(input.capacity());
+
+		String[] names = { "sort", "stableSort", "radixSort" };
+		for (int m = 0; m < names.length; m++) {
+			input.clear();
+			a.clear();
+			a.put(input).flip();
+			long start = System.nanoTime();
+			if (m == 0)
+				sorter.sort(a);
+			else if (m == 1)
+				sorter.stableSort(a);
+			else
+				sorter.radixSort(a);
+			double elapsed = (System.nanoTime() - start) / 1e6;
+			for (int i = 1; i < n; i++) {
+				if (a.getLong(i * recordSize) < a.getLong((i - 1) * recordSize))
+					throw new IllegalStateException(names[m] + " is not sorted at " + i);
+			}
+			System.out.printf("%-10s %10d records of %d bytes %10.2f ms%n", names[m], n, recordSize, elapsed);
+		}
+	}
+
+}
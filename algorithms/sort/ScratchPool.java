@@ -0,0 +1,104 @@
+/**
+ * Per-thread pool of the auxiliary arrays of the merge sorts, so that sorting
+ * many small and medium arrays does not allocate a new aux array every time.
+ * The arrays are kept in size classes of powers of two up to
+ * {@code 1 << MAX_CLASS} elements, larger requests are allocated and dropped
+ * as before.
+ * <p>
+ * An array is taken out of its class while a sort uses it and put back by
+ * {@link #release(Object[], int)}, so a sort nested in a comparator (or a sort
+ * that throws before releasing) gets a fresh array instead of sharing one. The
+ * released elements are cleared so that the pool does not keep them alive.
+ *
+ * @author SylvanasSun
+ *
+ */
+final class ScratchPool {
+	private static final int MIN_CLASS = 4; // smallest pooled array, 16 elements
+	private static final int MAX_CLASS = 16; // largest pooled array, 65536 elements
+
+	private static final ThreadLocal<ScratchPool> POOL = ThreadLocal.withInitial(ScratchPool::new);
+
+	private final Comparable[][] comparables = new Comparable[MAX_CLASS + 1][];
+	private final Object[][] objects = new Object[MAX_CLASS + 1][];
+
+	private ScratchPool() {
+	}
+
+	/**
+	 * Returns a Comparable array of at least n elements, reporting it to the
+	 * metrics if it had to be allocated.
+	 */
+	static Comparable[] comparables(int n, SortMetrics metrics) {
+		int k = sizeClass(n);
+		if (k > MAX_CLASS) {
+			metrics.allocate((long) n * SortMetrics.REFERENCE_BYTES);
+			return new Comparable[n];
+		}
+		ScratchPool pool = POOL.get();
+		Comparable[] a = pool.comparables[k];
+		if (a == null) {
+			metrics.allocate((long) (1 << k) * SortMetrics.REFERENCE_BYTES);
+			return new Comparable[1 << k];
+		}
+		pool.comparables[k] = null;
+		return a;
+	}
+
+	/**
+	 * Returns an Object array of at least n elements, reporting it to the
+	 * metrics if it had to be allocated.
+	 */
+	static Object[] objects(int n, SortMetrics metrics) {
+		int k = sizeClass(n);
+		if (k > MAX_CLASS) {
+			metrics.allocate((long) n * SortMetrics.REFERENCE_BYTES);
+			return new Object[n];
+		}
+		ScratchPool pool = POOL.get();
+		Object[] a = pool.objects[k];
+		if (a == null) {
+			metrics.allocate((long) (1 << k) * SortMetrics.REFERENCE_BYTES);
+			return new Object[1 << k];
+		}
+		pool.objects[k] = null;
+		return a;
+	}
+
+	/**
+	 * Clears the first n elements of an array returned by
+	 * {@link #comparables(int, SortMetrics)} or
+	 * {@link #objects(int, SortMetrics)} and gives it back to the pool.
+	 */
+	static void release(Object[] a, int n) {
+		int k = Integer.numberOfTrailingZeros(a.length);
+		if (a.length != 1 << k || k < MIN_CLASS || k > MAX_CLASS)
+			return; // not pooled
+		for (int i = 0; i < n; i++) {
+			a[i] = null;
+		}
+		ScratchPool pool = POOL.get();
+		if (a.getClass() == Comparable[].class)
+			pool.comparables[k] = (Comparable[]) a;
+		else if (a.getClass() == Object[].class)
+			pool.objects[k] = a;
+	}
+
+	/**
+	 * Checks that a scratch array supplied by the caller holds n elements.
+	 */
+	static void check(Object[] scratch, int n) {
+		if (scratch == null)
+			throw new IllegalArgumentException("scratch array is null.");
+		if (scratch.length < n)
+			throw new IllegalArgumentException("scratch array of length " + scratch.length + " is shorter than " + n + ".");
+	}
+
+	// the smallest k >= MIN_CLASS such that n <= 2^k
+	private static int sizeClass(int n) {
+		if (n <= 1 << MIN_CLASS)
+			return MIN_CLASS;
+		return 32 - Integer.numberOfLeadingZeros(n - 1);
+	}
+
+}
@@ -5,6 +5,10 @@
  *
  */
 public class Shell {
+	// the sort methods without a gap sequence use Knuth's gaps below this size,
+	// where their fewer passes win, and Ciura's gaps above it, where their fewer
+	// comparisons win (see ShellGapBenchmark)
+	private static final int KNUTH_THRESHOLD = 1 << 14;
 
 	// This class should not be instantiated.
 	private Shell() {
@@ -17,19 +21,116 @@ public class Shell {
 	 *            the array to be sorted
 	 */
 	public static void sort(Comparable[] a) {
-		int h = 1;
-		while (h < a.length / 3) {
-			// h sequence 1,4,13,40,121,364,1093,...
-			h = h * 3 + 1;
-		}
-		while (h >= 1) {
-			for (int i = h; i < a.length; i++) {
-				// a[i] insert to a[i-h],a[i-2*h],a[i-3*h]...
-				for (int j = i; j >= h && less(a[j], a[j - h]); j -= h) {
-					exch(a, j, j - h);
+		sort(a, 0, a.length, gaps(a.length));
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparable[] a, int lo, int hi) {
+		sort(a, lo, hi, gaps(hi - lo));
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and the
+	 * given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(Comparable[] a, GapSequence gaps) {
+		sort(a, 0, a.length, gaps);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and the given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, GapSequence gaps) {
+		sort(a, lo, hi, gaps, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order and
+	 * reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, SortMetrics metrics) {
+		sort(a, 0, a.length, gaps(a.length), metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and reporting the operations of the sort to the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, SortMetrics metrics) {
+		sort(a, lo, hi, gaps(hi - lo), metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using the natural
+	 * order and the given gap sequence, reporting the operations of the sort to
+	 * the metrics.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparable[] a, int lo, int hi, GapSequence gaps, SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		int[] h = gaps.table;
+		for (int k = gaps.first(hi - lo); k >= 0; k--) {
+			int g = h[k];
+			for (int i = lo + g; i < hi; i++) {
+				// a[i] insert to a[i-g],a[i-2*g],a[i-3*g]... with half-exchanges
+				Comparable v = a[i];
+				int j = i;
+				while (j >= lo + g && less(metrics, v, a[j - g])) {
+					a[j] = a[j - g];
+					j -= g;
 				}
+				a[j] = v;
+				metrics.write((i - j) / g + 1);
 			}
-			h = h / 3;
 		}
 	}
 
@@ -42,17 +143,337 @@ public class Shell {
 	 *            a the array to be sorted
 	 */
 	public static void sort(Comparator comparator, Object[] a) {
-		int h = 1;
-		while (h < a.length / 3) {
-			h = h * 3 + 1;
+		sort(comparator, a, 0, a.length, gaps(a.length));
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi) {
+		sort(comparator, a, lo, hi, gaps(hi - lo));
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and the given
+	 * gap sequence.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(Comparator comparator, Object[] a, GapSequence gaps) {
+		sort(comparator, a, 0, a.length, gaps);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and the given gap sequence.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, GapSequence gaps) {
+		sort(comparator, a, lo, hi, gaps, SortMetrics.NONE);
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator and reporting
+	 * the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, SortMetrics metrics) {
+		sort(comparator, a, 0, a.length, gaps(a.length), metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and reporting the operations of the sort to the metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, SortMetrics metrics) {
+		sort(comparator, a, lo, hi, gaps(hi - lo), metrics);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) in ascending order, using a comparator
+	 * and the given gap sequence, reporting the operations of the sort to the
+	 * metrics.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 * @param metrics
+	 *            the listener of the operations, see {@link SortMetrics}
+	 */
+	public static void sort(Comparator comparator, Object[] a, int lo, int hi, GapSequence gaps,
+			SortMetrics metrics) {
+		Ranges.check(a.length, lo, hi);
+		int[] h = gaps.table;
+		for (int k = gaps.first(hi - lo); k >= 0; k--) {
+			int g = h[k];
+			for (int i = lo + g; i < hi; i++) {
+				Object v = a[i];
+				int j = i;
+				while (j >= lo + g && less(metrics, comparator, v, a[j - g])) {
+					a[j] = a[j - g];
+					j -= g;
+				}
+				a[j] = v;
+				metrics.write((i - j) / g + 1);
+			}
 		}
-		while (h >= 1) {
-			for (int i = h; i < a.length; i++) {
-				for (int j = i; j >= h && less(comparator, a[j], a[j - h]); j -= h) {
-					exch(a, j, j - h);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code int} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(int[] a, int lo, int hi) {
+		sort(a, lo, hi, gaps(hi - lo));
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order,
+	 * using the given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(int[] a, GapSequence gaps) {
+		sort(a, 0, a.length, gaps);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code int} values in
+	 * ascending order, using the given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(int[] a, int lo, int hi, GapSequence gaps) {
+		Ranges.check(a.length, lo, hi);
+		int[] h = gaps.table;
+		for (int k = gaps.first(hi - lo); k >= 0; k--) {
+			int g = h[k];
+			for (int i = lo + g; i < hi; i++) {
+				int v = a[i];
+				int j = i;
+				while (j >= lo + g && less(v, a[j - g])) {
+					a[j] = a[j - g];
+					j -= g;
+				}
+				a[j] = v;
+			}
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code long} values in
+	 * ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(long[] a, int lo, int hi) {
+		sort(a, lo, hi, gaps(hi - lo));
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order,
+	 * using the given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(long[] a, GapSequence gaps) {
+		sort(a, 0, a.length, gaps);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code long} values in
+	 * ascending order, using the given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(long[] a, int lo, int hi, GapSequence gaps) {
+		Ranges.check(a.length, lo, hi);
+		int[] h = gaps.table;
+		for (int k = gaps.first(hi - lo); k >= 0; k--) {
+			int g = h[k];
+			for (int i = lo + g; i < hi; i++) {
+				long v = a[i];
+				int j = i;
+				while (j >= lo + g && less(v, a[j - g])) {
+					a[j] = a[j - g];
+					j -= g;
 				}
+				a[j] = v;
+			}
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(double[] a) {
+		sort(a, 0, a.length);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code double} values in
+	 * ascending order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 */
+	public static void sort(double[] a, int lo, int hi) {
+		sort(a, lo, hi, gaps(hi - lo));
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending order,
+	 * using the given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(double[] a, GapSequence gaps) {
+		sort(a, 0, a.length, gaps);
+	}
+
+	/**
+	 * Rearranges the subarray a[lo..hi) of primitive {@code double} values in
+	 * ascending order, using the given gap sequence.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 * @param lo
+	 *            the index of the first element, inclusive, to be sorted
+	 * @param hi
+	 *            the index of the last element, exclusive, to be sorted
+	 * @param gaps
+	 *            the gap sequence
+	 */
+	public static void sort(double[] a, int lo, int hi, GapSequence gaps) {
+		Ranges.check(a.length, lo, hi);
+		int[] h = gaps.table;
+		for (int k = gaps.first(hi - lo); k >= 0; k--) {
+			int g = h[k];
+			for (int i = lo + g; i < hi; i++) {
+				double v = a[i];
+				int j = i;
+				while (j >= lo + g && less(v, a[j - g])) {
+					a[j] = a[j - g];
+					j -= g;
+				}
+				a[j] = v;
 			}
-			h = h / 3;
 		}
 	}
 
@@ -68,21 +489,36 @@ public class Shell {
 		}
 	}
 
+	// the gap sequence of the sort methods without one
+	private static GapSequence gaps(int n) {
+		return n < KNUTH_THRESHOLD ? GapSequence.KNUTH : GapSequence.CIURA;
+	}
+
 	// a < b ?
-	private static boolean less(Comparable a, Comparable b) {
+	private static boolean less(SortMetrics metrics, Comparable a, Comparable b) {
+		metrics.compare();
 		return a.compareTo(b) < 0;
 	}
 
 	// a < b ?
-	private static boolean less(Comparator comparator, Object a, Object b) {
+	private static boolean less(SortMetrics metrics, Comparator comparator, Object a, Object b) {
+		metrics.compare();
 		return comparator.compare(a, b) < 0;
 	}
 
-	// exchange a[i] and a[j]
-	private static void exch(Object[] a, int i, int j) {
-		Object temp = a[i];
-		a[i] = a[j];
-		a[j] = temp;
+	// a < b ?
+	private static boolean less(int a, int b) {
+		return a < b;
+	}
+
+	// a < b ?
+	private static boolean less(long a, long b) {
+		return a < b;
+	}
+
+	// a < b ? (total order of Double.compare, so NaN and -0.0 are handled)
+	private static boolean less(double a, double b) {
+		return Double.compare(a, b) < 0;
 	}
 
 	// test
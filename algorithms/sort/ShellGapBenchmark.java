@@ -0,0 +1,82 @@
+import java.util.Random;
+
+/**
+ * Compares the gap sequences of {@link Shell} on random primitive {@code int}
+ * arrays of growing size and reports the fastest one for every size. Small
+ * arrays are sorted many times per round (the copies are prepared before the
+ * clock starts), so every size measures roughly the same number of elements.
+ * The best of the measured rounds is reported in nanoseconds per element.
+ *
+ * Usage: java ShellGapBenchmark [max n]
+ *
+ * @author SylvanasSun
+ *
+ */
+public class ShellGapBenchmark {
+	private static final int WARMUP = 3;
+	private static final int ROUNDS = 5;
+
+	// elements sorted per round for every size
+	private static final int ELEMENTS = 1 << 21;
+
+	private static final GapSequence[] SEQUENCES = { GapSequence.KNUTH, GapSequence.CIURA, GapSequence.TOKUDA,
+			GapSequence.SEDGEWICK, GapSequence.PRATT };
+
+	// This class should not be instantiated.
+	private ShellGapBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int max = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+		Random random = new Random(42);
+
+		System.out.printf("%10s", "n");
+		for (GapSequence gaps : SEQUENCES) {
+			System.out.printf(" %10s", gaps);
+		}
+		System.out.printf(" %10s%n", "best");
+
+		for (int n = 16; n <= max; n *= 4) {
+			int copies = Math.max(1, ELEMENTS / n);
+			int[][] input = new int[copies][n];
+			for (int[] a : input) {
+				for (int i = 0; i < n; i++) {
+					a[i] = random.nextInt();
+				}
+			}
+
+			System.out.printf("%10d", n);
+			GapSequence winner = null;
+			double best = Double.MAX_VALUE;
+			for (GapSequence gaps : SEQUENCES) {
+				double time = best(input, gaps) / ((double) copies * n);
+				System.out.printf(" %10.2f", time);
+				if (time < best) {
+					best = time;
+					winner = gaps;
+				}
+			}
+			System.out.printf(" %10s%n", winner);
+		}
+	}
+
+	// best time in nanoseconds of sorting copies of every input array
+	private static double best(int[][] input, GapSequence gaps) {
+		double best = Double.MAX_VALUE;
+		int[][] a = new int[input.length][];
+		for (int round = 0; round < WARMUP + ROUNDS; round++) {
+			for (int i = 0; i < input.length; i++) {
+				a[i] = input[i].clone();
+			}
+			long start = System.nanoTime();
+			for (int i = 0; i < a.length; i++) {
+				Shell.sort(a[i], gaps);
+			}
+			double elapsed = System.nanoTime() - start;
+			if (round >= WARMUP)
+				best = Math.min(best, elapsed);
+		}
+		return best;
+	}
+
+}
@@ -0,0 +1,552 @@
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sort facade that looks at the input before choosing the sort class for it.
+ * The engine samples the array: its size, its presortedness (from the
+ * descents of 16 windows of adjacent elements, extrapolated to a number of
+ * runs), its duplicate ratio (from a sorted random sample of 64 elements) and
+ * its key type. It then dispatches, in this order of preference, to
+ * <ul>
+ * <li>{@link InsertionX} for small arrays,</li>
+ * <li>adaptive {@link MergeBU} (or {@link MergeX} for primitives) for inputs
+ * made of long runs,</li>
+ * <li>{@link ParallelSampleSort}, or {@link ParallelQuick3way} when there are
+ * many duplicates and stability is not required, for large object arrays when
+ * the pool has more than one thread,</li>
+ * <li>{@link CountingSort} for {@code int} and {@code long} arrays whose
+ * keys lie in a small range,</li>
+ * <li>{@link LSD} for large {@code int} and {@code long} arrays and
+ * {@link MSD} for large {@code String} arrays,</li>
+ * <li>{@link Quick3way} when there are many duplicates and stability is not
+ * required,</li>
+ * <li>{@link MergeX} for objects and {@link Quick} for primitives
+ * otherwise.</li>
+ * </ul>
+ * The sampling costs a few hundred comparisons, plus a scan for the range of
+ * {@code int} and {@code long} keys. Every decision is reported to
+ * {@link SortMetrics#decision(Decision)} before the sort starts, so a
+ * SortMetrics subclass can log or count the choices made under real traffic.
+ * The metrics also receive the operations of the sorts that report them
+ * (InsertionX, MergeX and Quick3way on object arrays).
+ *
+ * <pre>
+ * new SortEngine()
+ *         .withStable(true)
+ *         .withMetrics(auditingMetrics)
+ *         .sort(comparator, orders);
+ * </pre>
+ *
+ * @author SylvanasSun
+ *
+ */
+public class SortEngine {
+	private static final int INSERTION_THRESHOLD = 32; // InsertionX below this size
+	private static final int PARALLEL_THRESHOLD = 1 << 16; // parallel sorts above this size
+	private static final int RADIX_THRESHOLD = 1 << 12; // radix sorts above this size
+
+	private static final int WINDOWS = 16; // windows sampled for presortedness
+	private static final int WINDOW = 16; // adjacent elements per window
+	private static final int SAMPLE = 64; // elements sampled for duplicates
+
+	// presorted when at most this fraction of the sampled pairs break a run
+	private static final double PRESORTED = 1.0 / 16;
+	// duplicate-heavy when at most this fraction of the sample is distinct
+	private static final double DUPLICATES = 1.0 / 4;
+
+	/**
+	 * The sorts the engine dispatches to.
+	 */
+	public enum Algorithm {
+		INSERTION_X, ADAPTIVE_MERGE_BU, MERGE_X, QUICK, QUICK_3WAY, COUNTING, LSD, MSD, PARALLEL_SAMPLE_SORT,
+		PARALLEL_QUICK_3WAY
+	}
+
+	/**
+	 * The key types the engine distinguishes.
+	 */
+	public enum KeyType {
+		INT, LONG, DOUBLE, STRING, OBJECT
+	}
+
+	/**
+	 * The algorithm chosen for an input and the statistics it was chosen on.
+	 */
+	public static final class Decision {
+		private final Algorithm algorithm;
+		private final KeyType keyType;
+		private final int size;
+		private final long runs;
+		private final double distinct;
+		private final boolean stable;
+
+		private Decision(Algorithm algorithm, KeyType keyType, int size, long runs, double distinct, boolean stable) {
+			this.algorithm = algorithm;
+			this.keyType = keyType;
+			this.size = size;
+			this.runs = runs;
+			this.distinct = distinct;
+			this.stable = stable;
+		}
+
+		/**
+		 * Returns the chosen algorithm.
+		 */
+		public Algorithm algorithm() {
+			return algorithm;
+		}
+
+		/**
+		 * Returns the type of the keys.
+		 */
+		public KeyType keyType() {
+			return keyType;
+		}
+
+		/**
+		 * Returns the length of the array.
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Returns the estimated number of ascending or descending runs, -1 if
+		 * the array was too small to be sampled.
+		 */
+		public long runs() {
+			return runs;
+		}
+
+		/**
+		 * Returns the fraction of distinct keys in the sample, NaN if the
+		 * decision was made before the duplicates were sampled.
+		 */
+		public double distinct() {
+			return distinct;
+		}
+
+		/**
+		 * Returns true if a stable sort was requested.
+		 */
+		public boolean stable() {
+			return stable;
+		}
+
+		@Override
+		public String toString() {
+			return algorithm + " for " + size + " " + keyType + " keys (runs=" + runs + ", distinct=" + distinct
+					+ (stable ? ", stable)" : ")");
+		}
+	}
+
+	private boolean stable;
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+	private SortMetrics metrics = SortMetrics.NONE;
+
+	/**
+	 * Sets whether equal keys must keep their input order, false by default.
+	 * It has no effect on primitive arrays, whose equal keys cannot be told
+	 * apart.
+	 */
+	public SortEngine withStable(boolean stable) {
+		this.stable = stable;
+		return this;
+	}
+
+	/**
+	 * Sets the pool the parallel sorts run in, the common pool by default. A
+	 * pool of parallelism 1 disables the parallel sorts.
+	 */
+	public SortEngine withPool(ForkJoinPool pool) {
+		if (pool == null)
+			throw new IllegalArgumentException("pool must not be null.");
+		this.pool = pool;
+		return this;
+	}
+
+	/**
+	 * Sets the listener of the decisions and of the operations of the sorts,
+	 * {@link SortMetrics#NONE} by default.
+	 */
+	public SortEngine withMetrics(SortMetrics metrics) {
+		if (metrics == null)
+			throw new IllegalArgumentException("metrics must not be null.");
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using the natural order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public void sort(Comparable[] a) {
+		Decision decision = choose(a, NaturalOrder.INSTANCE, a instanceof String[] ? KeyType.STRING : KeyType.OBJECT);
+		metrics.decision(decision);
+		switch (decision.algorithm) {
+		case INSERTION_X:
+			InsertionX.sort(a, metrics);
+			break;
+		case ADAPTIVE_MERGE_BU:
+			MergeBU.adaptiveSort(a, metrics);
+			break;
+		case PARALLEL_SAMPLE_SORT:
+			ParallelSampleSort.sort(NaturalOrder.INSTANCE, a, pool);
+			break;
+		case PARALLEL_QUICK_3WAY:
+			ParallelQuick3way.sort(NaturalOrder.INSTANCE, a, pool);
+			break;
+		case MSD:
+			MSD.sort((String[]) a);
+			break;
+		case QUICK_3WAY:
+			Quick3way.sort(a, metrics);
+			break;
+		default:
+			MergeX.sort(a, metrics);
+		}
+	}
+
+	/**
+	 * Rearranges the array in ascending order, using a comparator.
+	 *
+	 * @param comparator
+	 *            compare the comparator specifying the order
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public void sort(Comparator comparator, Object[] a) {
+		Decision decision = choose(a, comparator, KeyType.OBJECT);
+		metrics.decision(decision);
+		switch (decision.algorithm) {
+		case INSERTION_X:
+			InsertionX.sort(comparator, a, metrics);
+			break;
+		case ADAPTIVE_MERGE_BU:
+			MergeBU.adaptiveSort(comparator, a, metrics);
+			break;
+		case PARALLEL_SAMPLE_SORT:
+			ParallelSampleSort.sort(comparator, a, pool);
+			break;
+		case PARALLEL_QUICK_3WAY:
+			ParallelQuick3way.sort(comparator, a, pool);
+			break;
+		case QUICK_3WAY:
+			Quick3way.sort(comparator, a, metrics);
+			break;
+		default:
+			MergeX.sort(a, comparator, metrics);
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public void sort(int[] a) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		int n = a.length;
+		long runs = -1;
+		double distinct = Double.NaN;
+		int min = 0, max = 0;
+		Algorithm algorithm;
+		if (n < INSERTION_THRESHOLD) {
+			algorithm = Algorithm.INSERTION_X;
+		} else if ((runs = runs(a)) <= n * PRESORTED) {
+			algorithm = Algorithm.MERGE_X;
+		} else {
+			// the range of the keys, handed to CountingSort so that it does
+			// not scan the array for it again
+			min = max = a[0];
+			for (int i = 1; i < n; i++) {
+				if (a[i] < min)
+					min = a[i];
+				else if (a[i] > max)
+					max = a[i];
+			}
+			if (CountingSort.isSmallRange(n, (long) max - min + 1))
+				algorithm = Algorithm.COUNTING;
+			else if (n >= RADIX_THRESHOLD)
+				algorithm = Algorithm.LSD;
+			else if ((distinct = distinct(a)) <= DUPLICATES)
+				algorithm = Algorithm.QUICK_3WAY;
+			else
+				algorithm = Algorithm.QUICK;
+		}
+		metrics.decision(new Decision(algorithm, KeyType.INT, n, runs, distinct, stable));
+		switch (algorithm) {
+		case INSERTION_X:
+			InsertionX.sort(a);
+			break;
+		case MERGE_X:
+			MergeX.sort(a);
+			break;
+		case COUNTING:
+			CountingSort.sort(a, min, max);
+			break;
+		case LSD:
+			LSD.sort(a);
+			break;
+		case QUICK_3WAY:
+			Quick3way.sort(a);
+			break;
+		default:
+			Quick.sort(a);
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public void sort(long[] a) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		int n = a.length;
+		long runs = -1;
+		double distinct = Double.NaN;
+		long min = 0, max = 0;
+		Algorithm algorithm;
+		if (n < INSERTION_THRESHOLD) {
+			algorithm = Algorithm.INSERTION_X;
+		} else if ((runs = runs(a)) <= n * PRESORTED) {
+			algorithm = Algorithm.MERGE_X;
+		} else {
+			// the range of the keys, handed to CountingSort so that it does
+			// not scan the array for it again
+			min = max = a[0];
+			for (int i = 1; i < n; i++) {
+				if (a[i] < min)
+					min = a[i];
+				else if (a[i] > max)
+					max = a[i];
+			}
+			if (max - min >= 0 && CountingSort.isSmallRange(n, max - min + 1))
+				algorithm = Algorithm.COUNTING;
+			else if (n >= RADIX_THRESHOLD)
+				algorithm = Algorithm.LSD;
+			else if ((distinct = distinct(a)) <= DUPLICATES)
+				algorithm = Algorithm.QUICK_3WAY;
+			else
+				algorithm = Algorithm.QUICK;
+		}
+		metrics.decision(new Decision(algorithm, KeyType.LONG, n, runs, distinct, stable));
+		switch (algorithm) {
+		case INSERTION_X:
+			InsertionX.sort(a);
+			break;
+		case MERGE_X:
+			MergeX.sort(a);
+			break;
+		case COUNTING:
+			CountingSort.sort(a, min, max);
+			break;
+		case LSD:
+			LSD.sort(a);
+			break;
+		case QUICK_3WAY:
+			Quick3way.sort(a);
+			break;
+		default:
+			Quick.sort(a);
+		}
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code double} values in ascending
+	 * order.
+	 * <p>
+	 * The order is the one of {@link Double#compare(double, double)}: -0.0 sorts
+	 * before 0.0 and NaN sorts after every other value.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public void sort(double[] a) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		int n = a.length;
+		long runs = -1;
+		double distinct = Double.NaN;
+		Algorithm algorithm;
+		if (n < INSERTION_THRESHOLD) {
+			algorithm = Algorithm.INSERTION_X;
+		} else if ((runs = runs(a)) <= n * PRESORTED) {
+			algorithm = Algorithm.MERGE_X;
+		} else if ((distinct = distinct(a)) <= DUPLICATES) {
+			algorithm = Algorithm.QUICK_3WAY;
+		} else {
+			algorithm = Algorithm.QUICK;
+		}
+		metrics.decision(new Decision(algorithm, KeyType.DOUBLE, n, runs, distinct, stable));
+		switch (algorithm) {
+		case INSERTION_X:
+			InsertionX.sort(a);
+			break;
+		case MERGE_X:
+			MergeX.sort(a);
+			break;
+		case QUICK_3WAY:
+			Quick3way.sort(a);
+			break;
+		default:
+			Quick.sort(a);
+		}
+	}
+
+	// the decision for an object array, the comparator is only used to sample
+	private Decision choose(Object[] a, Comparator comparator, KeyType keyType) {
+		if (a == null)
+			throw new IllegalArgumentException("array is null.");
+		int n = a.length;
+		long runs = -1;
+		double distinct = Double.NaN;
+		Algorithm algorithm;
+		if (n < INSERTION_THRESHOLD) {
+			algorithm = Algorithm.INSERTION_X;
+		} else if ((runs = runs(a, comparator)) <= n * PRESORTED) {
+			algorithm = Algorithm.ADAPTIVE_MERGE_BU;
+		} else if (n >= PARALLEL_THRESHOLD && pool.getParallelism() > 1) {
+			if (!stable && (distinct = distinct(a, comparator)) <= DUPLICATES)
+				algorithm = Algorithm.PARALLEL_QUICK_3WAY;
+			else
+				algorithm = Algorithm.PARALLEL_SAMPLE_SORT;
+		} else if (keyType == KeyType.STRING && n >= RADIX_THRESHOLD) {
+			algorithm = Algorithm.MSD;
+		} else if (!stable && (distinct = distinct(a, comparator)) <= DUPLICATES) {
+			algorithm = Algorithm.QUICK_3WAY;
+		} else {
+			algorithm = Algorithm.MERGE_X;
+		}
+		return new Decision(algorithm, keyType, n, runs, distinct, stable);
+	}
+
+	// estimate the number of runs of a[] from the pairs of adjacent elements of
+	// WINDOWS windows spread over it, a pair breaks an ascending run if it
+	// descends and a descending run if it does not (so equal keys extend an
+	// ascending run, as in the adaptive MergeBU)
+	private static long runs(Object[] a, Comparator comparator) {
+		int n = a.length, descents = 0;
+		for (int w = 0; w < WINDOWS; w++) {
+			int lo = (int) ((long) w * (n - WINDOW) / (WINDOWS - 1));
+			for (int i = lo + 1; i < lo + WINDOW; i++) {
+				if (comparator.compare(a[i], a[i - 1]) < 0)
+					descents++;
+			}
+		}
+		return estimate(n, descents);
+	}
+
+	private static long runs(int[] a) {
+		int n = a.length, descents = 0;
+		for (int w = 0; w < WINDOWS; w++) {
+			int lo = (int) ((long) w * (n - WINDOW) / (WINDOWS - 1));
+			for (int i = lo + 1; i < lo + WINDOW; i++) {
+				if (a[i] < a[i - 1])
+					descents++;
+			}
+		}
+		return estimate(n, descents);
+	}
+
+	private static long runs(long[] a) {
+		int n = a.length, descents = 0;
+		for (int w = 0; w < WINDOWS; w++) {
+			int lo = (int) ((long) w * (n - WINDOW) / (WINDOWS - 1));
+			for (int i = lo + 1; i < lo + WINDOW; i++) {
+				if (a[i] < a[i - 1])
+					descents++;
+			}
+		}
+		return estimate(n, descents);
+	}
+
+	private static long runs(double[] a) {
+		int n = a.length, descents = 0;
+		for (int w = 0; w < WINDOWS; w++) {
+			int lo = (int) ((long) w * (n - WINDOW) / (WINDOWS - 1));
+			for (int i = lo + 1; i < lo + WINDOW; i++) {
+				if (Double.compare(a[i], a[i - 1]) < 0)
+					descents++;
+			}
+		}
+		return estimate(n, descents);
+	}
+
+	// extrapolate the breaks of the sampled pairs to the n - 1 pairs of a[]
+	private static long estimate(int n, int descents) {
+		int pairs = WINDOWS * (WINDOW - 1);
+		int breaks = Math.min(descents, pairs - descents);
+		return 1 + (long) breaks * (n - 1) / pairs;
+	}
+
+	// fraction of distinct keys among SAMPLE random elements of a[]
+	private static double distinct(Object[] a, Comparator comparator) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Object[] sample = new Object[SAMPLE];
+		for (int i = 0; i < SAMPLE; i++) {
+			sample[i] = a[random.nextInt(a.length)];
+		}
+		InsertionX.sort(comparator, sample);
+		int distinct = 1;
+		for (int i = 1; i < SAMPLE; i++) {
+			if (comparator.compare(sample[i - 1], sample[i]) != 0)
+				distinct++;
+		}
+		return (double) distinct / SAMPLE;
+	}
+
+	private static double distinct(int[] a) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int[] sample = new int[SAMPLE];
+		for (int i = 0; i < SAMPLE; i++) {
+			sample[i] = a[random.nextInt(a.length)];
+		}
+		InsertionX.sort(sample);
+		int distinct = 1;
+		for (int i = 1; i < SAMPLE; i++) {
+			if (sample[i - 1] != sample[i])
+				distinct++;
+		}
+		return (double) distinct / SAMPLE;
+	}
+
+	private static double distinct(long[] a) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long[] sample = new long[SAMPLE];
+		for (int i = 0; i < SAMPLE; i++) {
+			sample[i] = a[random.nextInt(a.length)];
+		}
+		InsertionX.sort(sample);
+		int distinct = 1;
+		for (int i = 1; i < SAMPLE; i++) {
+			if (sample[i - 1] != sample[i])
+				distinct++;
+		}
+		return (double) distinct / SAMPLE;
+	}
+
+	private static double distinct(double[] a) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		double[] sample = new double[SAMPLE];
+		for (int i = 0; i < SAMPLE; i++) {
+			sample[i] = a[random.nextInt(a.length)];
+		}
+		InsertionX.sort(sample);
+		int distinct = 1;
+		for (int i = 1; i < SAMPLE; i++) {
+			if (Double.compare(sample[i - 1], sample[i]) != 0)
+				distinct++;
+		}
+		return (double) distinct / SAMPLE;
+	}
+
+}
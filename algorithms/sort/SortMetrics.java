@@ -0,0 +1,206 @@
+/**
+ * Listener of the elementary operations of a sort: comparisons, exchanges,
+ * other array writes, recursion, fallbacks and auxiliary memory. The sort
+ * classes take an optional SortMetrics and report every operation to it, the
+ * ones called without it use {@link #NONE} whose methods do nothing, so once
+ * they are inlined by the JIT the calls compile to nothing.
+ * <p>
+ * {@link Counter} counts the operations, e.g. to catch inputs that drive
+ * {@link Quick} toward its quadratic worst case:
+ *
+ * <pre>
+ * SortMetrics.Counter counter = new SortMetrics.Counter();
+ * Quick.sort(a, counter);
+ * if (counter.maxDepth() &gt; 4 * (31 - Integer.numberOfLeadingZeros(a.length)))
+ *     log.warn("quicksort went " + counter.maxDepth() + " levels deep: " + counter);
+ * </pre>
+ *
+ * @author SylvanasSun
+ *
+ */
+public class SortMetrics {
+
+	/**
+	 * The listener that ignores every operation.
+	 */
+	public static final SortMetrics NONE = new SortMetrics();
+
+	/**
+	 * The size of a reference in an array, assuming compressed references
+	 * (the default of heaps smaller than 32 GB).
+	 */
+	public static final int REFERENCE_BYTES = 4;
+
+	protected SortMetrics() {
+	}
+
+	/**
+	 * Called for every comparison of two elements.
+	 */
+	public void compare() {
+	}
+
+	/**
+	 * Called for every exchange of two elements.
+	 */
+	public void swap() {
+	}
+
+	/**
+	 * Called for array writes other than the ones of an exchange (shifts of an
+	 * insertion, copies of a merge).
+	 *
+	 * @param count
+	 *            the number of elements written
+	 */
+	public void write(int count) {
+	}
+
+	/**
+	 * Called when a recursive sort enters a subarray, every call is matched by
+	 * a call to {@link #exit()}.
+	 */
+	public void enter() {
+	}
+
+	/**
+	 * Called when a recursive sort leaves a subarray.
+	 */
+	public void exit() {
+	}
+
+	/**
+	 * Called when a sort gives up on its main algorithm for a subarray and
+	 * falls back to one with a guaranteed bound, e.g. the heapsort of
+	 * {@link Quick#introSort(Comparable[])} once the recursion is too deep.
+	 */
+	public void fallback() {
+	}
+
+	/**
+	 * Called when a sort allocates auxiliary memory.
+	 *
+	 * @param bytes
+	 *            the approximate size of the allocation
+	 */
+	public void allocate(long bytes) {
+	}
+
+	/**
+	 * Called by {@link SortEngine} with the algorithm it chose for an array,
+	 * before sorting it.
+	 *
+	 * @param decision
+	 *            the chosen algorithm and the statistics of the array
+	 */
+	public void decision(SortEngine.Decision decision) {
+	}
+
+	/**
+	 * Counts the operations reported to it. Not thread-safe, a counter should
+	 * be used by one sort at a time.
+	 */
+	public static class Counter extends SortMetrics {
+		private long compares;
+		private long swaps;
+		private long writes;
+		private long auxBytes;
+		private int depth;
+		private int maxDepth;
+		private int fallbacks;
+
+		@Override
+		public void compare() {
+			compares++;
+		}
+
+		@Override
+		public void swap() {
+			swaps++;
+		}
+
+		@Override
+		public void write(int count) {
+			writes += count;
+		}
+
+		@Override
+		public void enter() {
+			if (++depth > maxDepth)
+				maxDepth = depth;
+		}
+
+		@Override
+		public void exit() {
+			depth--;
+		}
+
+		@Override
+		public void fallback() {
+			fallbacks++;
+		}
+
+		@Override
+		public void allocate(long bytes) {
+			auxBytes += bytes;
+		}
+
+		/**
+		 * Returns the number of comparisons.
+		 */
+		public long compares() {
+			return compares;
+		}
+
+		/**
+		 * Returns the number of exchanges.
+		 */
+		public long swaps() {
+			return swaps;
+		}
+
+		/**
+		 * Returns the number of array writes other than the ones of exchanges.
+		 */
+		public long writes() {
+			return writes;
+		}
+
+		/**
+		 * Returns the bytes of auxiliary memory allocated.
+		 */
+		public long auxBytes() {
+			return auxBytes;
+		}
+
+		/**
+		 * Returns the maximum recursion depth, 0 for the sorts that do not
+		 * recurse.
+		 */
+		public int maxDepth() {
+			return maxDepth;
+		}
+
+		/**
+		 * Returns the number of subarrays sorted by a fallback algorithm.
+		 */
+		public int fallbacks() {
+			return fallbacks;
+		}
+
+		/**
+		 * Sets all the counts to 0.
+		 */
+		public void reset() {
+			compares = swaps = writes = auxBytes = 0;
+			depth = maxDepth = fallbacks = 0;
+		}
+
+		@Override
+		public String toString() {
+			return "compares=" + compares + ", swaps=" + swaps + ", writes=" + writes + ", auxBytes=" + auxBytes
+					+ ", maxDepth=" + maxDepth + ", fallbacks=" + fallbacks;
+		}
+	}
+
+}
@@ -0,0 +1,240 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted view of data that arrives in chunks. Every chunk is sorted on its own
+ * ({@link InsertionX} if it is small, {@link MergeX} otherwise) and kept as a
+ * sorted run. The runs are merged as the trees of a binomial heap: a run is
+ * merged with the previous one as long as the previous one is not in a larger
+ * size class (floor of log2 of the length), so the size classes strictly
+ * decrease from the oldest run to the newest and there are at most
+ * log2(n) + 1 runs. Every element takes part in O(log n) merges, so adding
+ * costs amortized O(log n) per element instead of a sort of everything seen so
+ * far, and {@link #iterator()} merges the remaining runs lazily with a loser
+ * tree.
+ * <p>
+ * The runs are never modified, a merge writes a new one, so an iterator is a
+ * snapshot of the elements added before it was created and stays valid while
+ * more chunks are added. Equal elements are returned in the order they were
+ * added.
+ *
+ * <pre>
+ * SortedAccumulator&lt;Order&gt; orders = new SortedAccumulator&lt;&gt;(byPrice);
+ * for (Order[] chunk : feed) {
+ *     orders.add(chunk);
+ *     publish(orders.iterator());
+ * }
+ * </pre>
+ *
+ * @author SylvanasSun
+ *
+ */
+public class SortedAccumulator<T> implements Iterable<T> {
+	private static final int CUTOFF = 32; // chunks smaller than this are sorted by InsertionX
+
+	private final Comparator<? super T> comparator;
+	private Object[][] runs = new Object[8][]; // runs[0] is the oldest run
+	private int count; // number of runs
+	private int size; // number of elements
+
+	public SortedAccumulator(Comparator<? super T> comparator) {
+		if (comparator == null)
+			throw new IllegalArgumentException("comparator must not be null.");
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Adds one element.
+	 */
+	public void add(T item) {
+		push(new Object[] { item });
+	}
+
+	/**
+	 * Adds the elements of a chunk, the chunk itself is not modified.
+	 */
+	public void add(T[] chunk) {
+		add(chunk, 0, chunk.length);
+	}
+
+	/**
+	 * Adds the elements chunk[lo..hi), the chunk itself is not modified.
+	 */
+	public void add(T[] chunk, int lo, int hi) {
+		if (lo < 0 || hi > chunk.length || lo > hi)
+			throw new IndexOutOfBoundsException("range [" + lo + ", " + hi + ") of a chunk of " + chunk.length);
+		if (lo == hi)
+			return;
+		Object[] run = Arrays.copyOfRange(chunk, lo, hi, Object[].class);
+		if (run.length < CUTOFF)
+			InsertionX.sort(comparator, run);
+		else
+			MergeX.sort(run, comparator);
+		push(run);
+	}
+
+	/**
+	 * Returns the number of elements added.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if no element was added.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all the elements.
+	 */
+	public void clear() {
+		Arrays.fill(runs, 0, count, null);
+		count = 0;
+		size = 0;
+	}
+
+	/**
+	 * Returns all the elements in ascending order. The runs are merged into
+	 * one first, so the iterators created afterwards have a single run to read.
+	 */
+	public Object[] toArray() {
+		while (count > 1) {
+			mergeTop();
+		}
+		return count == 0 ? new Object[0] : runs[0].clone();
+	}
+
+	/**
+	 * Returns an iterator over the elements added so far, in ascending order.
+	 * The runs are merged as the iterator advances.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new RunIterator(Arrays.copyOf(runs, count));
+	}
+
+	// push a sorted run and merge it into the previous runs that are not in a
+	// larger size class
+	private void push(Object[] run) {
+		if (count == runs.length)
+			runs = Arrays.copyOf(runs, 2 * count);
+		runs[count++] = run;
+		size += run.length;
+		while (count > 1 && sizeClass(runs[count - 2].length) <= sizeClass(runs[count - 1].length)) {
+			mergeTop();
+		}
+	}
+
+	// replace the two newest runs by their merge
+	private void mergeTop() {
+		Object[] older = runs[count - 2], newer = runs[count - 1];
+		runs[--count] = null;
+		runs[count - 1] = merge(older, newer);
+	}
+
+	// stably merge two sorted runs into a new one, ties are taken from older
+	private Object[] merge(Object[] older, Object[] newer) {
+		int n = older.length, m = newer.length;
+		Object[] merged = Arrays.copyOf(older, n + m);
+		// runs already in order, e.g. chunks of increasing timestamps
+		if (!less(newer[0], older[n - 1])) {
+			System.arraycopy(newer, 0, merged, n, m);
+			return merged;
+		}
+		int i = 0, j = 0;
+		for (int k = 0; k < n + m; k++) {
+			if (i == n)
+				merged[k] = newer[j++];
+			else if (j == m)
+				merged[k] = older[i++];
+			else if (less(newer[j], older[i]))
+				merged[k] = newer[j++];
+			else
+				merged[k] = older[i++];
+		}
+		return merged;
+	}
+
+	// floor(log2(n))
+	private static int sizeClass(int n) {
+		return 31 - Integer.numberOfLeadingZeros(n);
+	}
+
+	// a < b ?
+	private boolean less(Object a, Object b) {
+		return comparator.compare((T) a, (T) b) < 0;
+	}
+
+	/**
+	 * Lazy k-way merge of a snapshot of the runs through a loser tree, as the
+	 * one of {@link ExternalSort}: tree[0] is the run holding the smallest head
+	 * and the other nodes the losers of the matches played there. Ties are won
+	 * by the older run.
+	 */
+	private class RunIterator implements Iterator<T> {
+		private final Object[][] runs;
+		private final int[] heads; // index of the next element of every run
+		private final int k;
+		private final int[] tree;
+
+		RunIterator(Object[][] runs) {
+			this.runs = runs;
+			this.k = runs.length;
+			this.heads = new int[k];
+			this.tree = new int[Math.max(k, 1)];
+			// index k is a virtual run smaller than everything, replaying the
+			// leaves from the last one replaces it with the real losers
+			Arrays.fill(tree, k);
+			for (int i = k - 1; i >= 0; i--) {
+				replay(i);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return k > 0 && heads[tree[0]] < runs[tree[0]].length;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			int winner = tree[0];
+			T item = (T) runs[winner][heads[winner]++];
+			replay(winner);
+			return item;
+		}
+
+		// play the matches from the leaf of run s up to the root
+		private void replay(int s) {
+			for (int t = (s + k) >> 1; t > 0; t >>= 1) {
+				if (beats(tree[t], s)) {
+					int temp = s;
+					s = tree[t];
+					tree[t] = temp;
+				}
+			}
+			tree[0] = s;
+		}
+
+		// does run x win against run y ?
+		private boolean beats(int x, int y) {
+			if (x == k)
+				return true;
+			if (y == k)
+				return false;
+			if (heads[x] == runs[x].length)
+				return false;
+			if (heads[y] == runs[y].length)
+				return true;
+			int cmp = comparator.compare((T) runs[x][heads[x]], (T) runs[y][heads[y]]);
+			return cmp < 0 || (cmp == 0 && x < y);
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares {@link Quick3string} and {@link MSD} with {@link Quick3way} on
+ * URL-like strings which share long prefixes.
+ *
+ * Usage: java StringSortBenchmark [n]
+ *
+ * @author SylvanasSun
+ *
+ */
+public class StringSortBenchmark {
+	private static final int WARMUP = 2;
+	private static final int ROUNDS = 3;
+
+	// This class should not be instantiated.
+	private StringSortBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		Random random = new Random(42);
+		String[] urls = new String[n];
+		for (int i = 0; i < n; i++) {
+			urls[i] = "https://api.example.com/v1/tenants/" + random.nextInt(64) + "/resources/"
+					+ random.nextInt(1000) + "/items/" + random.nextInt(n);
+		}
+
+		System.out.printf("%-12s %10s %10s%n", "algorithm", "n", "time (ms)");
+		run("Quick3way", urls, Quick3way::sort);
+		run("Quick3string", urls, Quick3string::sort);
+		run("MSD", urls, MSD::sort);
+	}
+
+	private static void run(String name, String[] input, Consumer<String[]> sort) {
+		double best = Double.MAX_VALUE;
+		for (int round = 0; round < WARMUP + ROUNDS; round++) {
+			String[] a = input.clone();
+			long start = System.nanoTime();
+			sort.accept(a);
+			double elapsed = (System.nanoTime() - start) / 1e6;
+			if (round >= WARMUP)
+				best = Math.min(best, elapsed);
+		}
+		System.out.printf("%-12s %10d %10.2f%n", name, input.length, best);
+	}
+
+}
@@ -0,0 +1,140 @@
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the distribution sorts against the comparison sorts they
+ * replace: {@link CountingSort} with {@link Quick3way} and {@link Quick} on
+ * {@code int[]} keys in a small range (e.g. a priority in 0..255 or a shard id
+ * in 0..4095), the stable counting sort of records by an {@code int} key with
+ * {@link LSD} and {@link MergeX}, and {@link BucketSort} with {@link Quick} on
+ * {@code double[]} keys in [0, 1).
+ * <p>
+ * The keys of a {@link Distribution} are scaled into 0..range-1 keeping their
+ * order, so SORTED stays sorted and FEW_UNIQUE keeps its 16 values, and
+ * scaled into [0, 1) whatever the range for the {@code double[]} keys. Every
+ * operation sorts a fresh copy of the input.
+ *
+ * @author SylvanasSun
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountingSortBenchmark {
+
+	private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(r -> r[0]);
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED", "REVERSED", "ORGAN_PIPE", "FEW_UNIQUE", "SAWTOOTH", "ZIPF" })
+	public Distribution distribution;
+
+	@Param({ "256", "4096" })
+	public int range;
+
+	private int[] keys;
+	private int[][] records;
+	private double[] uniform;
+
+	@Setup
+	public void setup() {
+		int[] a = distribution.generate(size, new Random(42));
+		long min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for (int key : a) {
+			min = Math.min(min, key);
+			max = Math.max(max, key);
+		}
+		long span = max - min + 1;
+		keys = new int[size];
+		records = new int[size][];
+		uniform = new double[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = (int) ((a[i] - min) * range / span);
+			records[i] = new int[] { keys[i], i };
+			uniform[i] = (double) (a[i] - min) / span;
+		}
+	}
+
+	@Benchmark
+	public int[] countingSort() {
+		int[] a = keys.clone();
+		CountingSort.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public int[] quick3way() {
+		int[] a = keys.clone();
+		Quick3way.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public int[] quick() {
+		int[] a = keys.clone();
+		Quick.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Object[] countingSortByInt() {
+		int[][] a = records.clone();
+		CountingSort.sortByInt(a, r -> r[0]);
+		return a;
+	}
+
+	@Benchmark
+	public Object[] lsdByInt() {
+		int[][] a = records.clone();
+		LSD.sortByInt(a, r -> r[0]);
+		return a;
+	}
+
+	@Benchmark
+	public Object[] mergeXByInt() {
+		int[][] a = records.clone();
+		MergeX.sort(a, BY_KEY);
+		return a;
+	}
+
+	@Benchmark
+	public double[] bucketSort() {
+		double[] a = uniform.clone();
+		BucketSort.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public double[] quickDouble() {
+		double[] a = uniform.clone();
+		Quick.sort(a);
+		return a;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder options = new OptionsBuilder();
+		options.include(CountingSortBenchmark.class.getSimpleName());
+		new Runner(options.build()).run();
+	}
+
+}
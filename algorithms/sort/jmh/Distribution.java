@@ -0,0 +1,124 @@
+import java.util.Random;
+
+/**
+ * Input distributions of the sort benchmarks. Every distribution generates
+ * {@code int} keys deterministically from the seed, so all the algorithms of a
+ * run sort the same input.
+ *
+ * @author SylvanasSun
+ *
+ */
+public enum Distribution {
+	/** uniformly random keys */
+	RANDOM {
+		@Override
+		int[] generate(int n, Random random) {
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = random.nextInt();
+			}
+			return a;
+		}
+	},
+	/** 0, 1, 2, ..., n - 1 */
+	SORTED {
+		@Override
+		int[] generate(int n, Random random) {
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = i;
+			}
+			return a;
+		}
+	},
+	/** n, n - 1, ..., 1 */
+	REVERSED {
+		@Override
+		int[] generate(int n, Random random) {
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = n - i;
+			}
+			return a;
+		}
+	},
+	/** 0, 1, ..., n / 2, ..., 1, ascending then descending */
+	ORGAN_PIPE {
+		@Override
+		int[] generate(int n, Random random) {
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = i < n / 2 ? i : n - i;
+			}
+			return a;
+		}
+	},
+	/** random keys out of 16 distinct values */
+	FEW_UNIQUE {
+		@Override
+		int[] generate(int n, Random random) {
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = random.nextInt(16);
+			}
+			return a;
+		}
+	},
+	/** sqrt(n) ascending runs of sqrt(n) keys */
+	SAWTOOTH {
+		@Override
+		int[] generate(int n, Random random) {
+			int period = Math.max(1, (int) Math.sqrt(n));
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = i % period;
+			}
+			return a;
+		}
+	},
+	/** keys 1..n where key k has probability proportional to 1 / k */
+	ZIPF {
+		@Override
+		int[] generate(int n, Random random) {
+			// cumulative weights of the keys, searched by inverse transform
+			double[] cdf = new double[n];
+			double sum = 0;
+			for (int k = 1; k <= n; k++) {
+				sum += 1.0 / k;
+				cdf[k - 1] = sum;
+			}
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				double u = random.nextDouble() * sum;
+				int lo = 0, hi = n - 1;
+				while (lo < hi) {
+					int mid = lo + (hi - lo) / 2;
+					if (cdf[mid] < u)
+						lo = mid + 1;
+					else
+						hi = mid;
+				}
+				a[i] = lo + 1;
+			}
+			return a;
+		}
+	};
+
+	/**
+	 * Returns n keys of this distribution.
+	 */
+	abstract int[] generate(int n, Random random);
+
+	/**
+	 * Returns n keys of this distribution, boxed.
+	 */
+	Integer[] boxed(int n, long seed) {
+		int[] keys = generate(n, new Random(seed));
+		Integer[] a = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = keys[i];
+		}
+		return a;
+	}
+
+}
@@ -0,0 +1,93 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the auxiliary memory of the merge sorts on the small and
+ * medium arrays of a request path: the default sort, whose aux array comes
+ * from the thread's {@code ScratchPool}, against the overloads taking a scratch
+ * array from the caller. The input is copied into a preallocated array, so
+ * with the GC profiler of {@link #main(String[])} {@code gc.alloc.rate.norm}
+ * is the garbage of the sort alone (0 in the steady state).
+ *
+ * @author SylvanasSun
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeScratchBenchmark {
+
+	@Param({ "Merge", "MergeBU", "MergeX" })
+	public String algorithm;
+
+	@Param({ "100", "1000", "10000" })
+	public int size;
+
+	private Integer[] input;
+	private Integer[] a;
+	private Object[] scratch;
+
+	@Setup
+	public void setup() {
+		input = Distribution.RANDOM.boxed(size, 42);
+		a = new Integer[size];
+		scratch = new Object[size];
+	}
+
+	@Benchmark
+	public Object[] pooled() {
+		System.arraycopy(input, 0, a, 0, size);
+		switch (algorithm) {
+		case "Merge":
+			Merge.sort(Sorts.INTEGER_ORDER, a);
+			break;
+		case "MergeBU":
+			MergeBU.sort(Sorts.INTEGER_ORDER, a);
+			break;
+		default:
+			MergeX.sort(a, Sorts.INTEGER_ORDER);
+		}
+		return a;
+	}
+
+	@Benchmark
+	public Object[] scratch() {
+		System.arraycopy(input, 0, a, 0, size);
+		switch (algorithm) {
+		case "Merge":
+			Merge.sort(Sorts.INTEGER_ORDER, a, scratch);
+			break;
+		case "MergeBU":
+			MergeBU.sort(Sorts.INTEGER_ORDER, a, scratch);
+			break;
+		default:
+			MergeX.sort(a, Sorts.INTEGER_ORDER, scratch);
+		}
+		return a;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder options = new OptionsBuilder();
+		options.include(MergeScratchBenchmark.class.getSimpleName());
+		new Runner(options.addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
@@ -0,0 +1,62 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the quadratic sorts, the same cases as
+ * {@link SortBenchmark} on inputs small enough for them.
+ *
+ * @author SylvanasSun
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadraticSortBenchmark {
+
+	@Param({ "Bubble", "Selection", "Insertion", "InsertionX", "BinaryInsertion" })
+	public String algorithm;
+
+	@Param({ "100", "1000", "10000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED", "REVERSED", "ORGAN_PIPE", "FEW_UNIQUE", "SAWTOOTH", "ZIPF" })
+	public Distribution distribution;
+
+	private Integer[] input;
+	private Sorts.Sort sort;
+
+	@Setup
+	public void setup() {
+		input = distribution.boxed(size, 42);
+		sort = Sorts.of(algorithm);
+	}
+
+	@Benchmark
+	public Object[] comparable() {
+		Integer[] a = input.clone();
+		sort.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Object[] comparator() {
+		Integer[] a = input.clone();
+		sort.sort(Sorts.INTEGER_ORDER, a);
+		return a;
+	}
+
+}
@@ -0,0 +1,94 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the O(n log n) and O(n^(3/2)) sorts over every
+ * {@link Distribution}, through both the {@code Comparable} and the
+ * {@code Comparator} path. The quadratic sorts are measured on smaller inputs
+ * by {@link QuadraticSortBenchmark}. Every operation sorts a fresh copy of the
+ * input, the copy is part of the score but costs the same for every algorithm.
+ * <p>
+ * The sources are compiled together with the sort classes (all of them are in
+ * the default package) and the JMH annotation processor, e.g.
+ *
+ * <pre>
+ * javac -cp jmh-core.jar:jmh-generator-annprocess.jar -d out ../*.java *.java
+ * java -cp jmh-core.jar:jopt-simple.jar:commons-math3.jar:out SortBenchmark
+ * </pre>
+ *
+ * {@link #main(String[])} runs both benchmarks with the GC profiler, which adds
+ * the allocation rate ({@code gc.alloc.rate.norm} is bytes per sort) to the
+ * ops/s of every case. Extra arguments are passed to JMH as a regexp of the
+ * benchmarks to run, e.g. {@code SortBenchmark.comparable}.
+ *
+ * @author SylvanasSun
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+	@Param({ "Shell", "Merge", "MergeBU", "MergeX", "Quick", "Quick3way" })
+	public String algorithm;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED", "REVERSED", "ORGAN_PIPE", "FEW_UNIQUE", "SAWTOOTH", "ZIPF" })
+	public Distribution distribution;
+
+	private Integer[] input;
+	private Sorts.Sort sort;
+
+	@Setup
+	public void setup() {
+		input = distribution.boxed(size, 42);
+		sort = Sorts.of(algorithm);
+	}
+
+	@Benchmark
+	public Object[] comparable() {
+		Integer[] a = input.clone();
+		sort.sort(a);
+		return a;
+	}
+
+	@Benchmark
+	public Object[] comparator() {
+		Integer[] a = input.clone();
+		sort.sort(Sorts.INTEGER_ORDER, a);
+		return a;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder options = new OptionsBuilder();
+		if (args.length == 0) {
+			options.include(SortBenchmark.class.getSimpleName());
+			options.include(QuadraticSortBenchmark.class.getSimpleName());
+		}
+		for (String regexp : args) {
+			options.include(regexp);
+		}
+		new Runner(options.addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
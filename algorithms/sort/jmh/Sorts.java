@@ -0,0 +1,145 @@
+import java.util.Comparator;
+
+/**
+ * The sort classes by name, seen through a single interface so that the
+ * benchmarks can take the algorithm as a parameter.
+ *
+ * @author SylvanasSun
+ *
+ */
+final class Sorts {
+
+	// the comparator of the Comparator path, the natural order of Integer
+	static final Comparator<Object> INTEGER_ORDER = (a, b) -> Integer.compare((Integer) a, (Integer) b);
+
+	// This class should not be instantiated.
+	private Sorts() {
+	}
+
+	/**
+	 * The Comparable and the Comparator path of a sort class.
+	 */
+	interface Sort {
+		void sort(Comparable[] a);
+
+		void sort(Comparator comparator, Object[] a);
+	}
+
+	static Sort of(String algorithm) {
+		switch (algorithm) {
+		case "Bubble":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					Bubble.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					Bubble.sort(a, comparator);
+				}
+			};
+		case "Selection":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					Selection.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					Selection.sort(comparator, a);
+				}
+			};
+		case "Insertion":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					Insertion.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					Insertion.sort(comparator, a);
+				}
+			};
+		case "InsertionX":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					InsertionX.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					InsertionX.sort(comparator, a);
+				}
+			};
+		case "BinaryInsertion":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					BinaryInsertion.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					BinaryInsertion.sort(comparator, a);
+				}
+			};
+		case "Shell":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					Shell.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					Shell.sort(comparator, a);
+				}
+			};
+		case "Merge":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					Merge.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					Merge.sort(comparator, a);
+				}
+			};
+		case "MergeBU":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					MergeBU.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					MergeBU.sort(comparator, a);
+				}
+			};
+		case "MergeX":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					MergeX.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					MergeX.sort(a, comparator);
+				}
+			};
+		case "Quick":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					Quick.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					Quick.sort(comparator, a);
+				}
+			};
+		case "Quick3way":
+			return new Sort() {
+				public void sort(Comparable[] a) {
+					Quick3way.sort(a);
+				}
+
+				public void sort(Comparator comparator, Object[] a) {
+					Quick3way.sort(comparator, a);
+				}
+			};
+		default:
+			throw new IllegalArgumentException("unknown algorithm: " + algorithm);
+		}
+	}
+
+}
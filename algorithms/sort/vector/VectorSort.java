@@ -0,0 +1,277 @@
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Merge Sort of {@code int} and {@code long} arrays on SIMD registers through
+ * the Vector API ({@code jdk.incubator.vector}). The array is cut in blocks of
+ * one vector which are sorted inside the register by a bitonic sorting network
+ * (log2(L) * (log2(L) + 1) / 2 stages of shuffle, min, max and blend for L
+ * lanes), then the runs are merged bottom-up a vector at a time: the vector
+ * carried over from the previous step and the next vector of the run with the
+ * smaller head are merged by a bitonic merge network, the lower half is stored
+ * and the upper half carried to the next step. Only the choice of the next
+ * vector is a scalar comparison, so there is one branch per L elements
+ * instead of one per element.
+ * <p>
+ * The species is the preferred one of the platform (e.g. 8 ints with AVX2, 16
+ * with AVX-512, 4 with NEON). When it has fewer than 4 lanes, and for arrays
+ * too small for the passes to pay off, the sort falls back to the scalar
+ * {@link Quick}.
+ * <p>
+ * The Vector API is an incubator module, so this class lives out of the main
+ * source directory and is compiled and run with it enabled, e.g.
+ *
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -d out ../*.java VectorSort.java
+ * java --add-modules jdk.incubator.vector -cp out ...
+ * </pre>
+ *
+ * @author SylvanasSun
+ *
+ */
+public class VectorSort {
+	private static final int THRESHOLD = 1 << 10; // Quick below this size
+	private static final int MIN_LANES = 4; // Quick for narrower species
+
+	private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+	private static final int INT_BITS = Integer.numberOfTrailingZeros(INT.length());
+	private static final VectorShuffle<Integer> INT_REVERSE = VectorShuffle.fromOp(INT, i -> INT.length() - 1 - i);
+	// INT_XOR[j] pairs lane i with lane i ^ 2^j
+	private static final VectorShuffle<Integer>[] INT_XOR = new VectorShuffle[INT_BITS];
+	// INT_MAX[k][j] are the lanes taking the max at the step of distance 2^j
+	// of the blocks of 2^k lanes, INT_MAX[INT_BITS] sorts in ascending order
+	private static final VectorMask<Integer>[][] INT_MAX = new VectorMask[INT_BITS + 1][INT_BITS];
+
+	private static final VectorSpecies<Long> LONG = LongVector.SPECIES_PREFERRED;
+	private static final int LONG_BITS = Integer.numberOfTrailingZeros(LONG.length());
+	private static final VectorShuffle<Long> LONG_REVERSE = VectorShuffle.fromOp(LONG, i -> LONG.length() - 1 - i);
+	private static final VectorShuffle<Long>[] LONG_XOR = new VectorShuffle[LONG_BITS];
+	private static final VectorMask<Long>[][] LONG_MAX = new VectorMask[LONG_BITS + 1][LONG_BITS];
+
+	static {
+		for (int j = 0; j < INT_BITS; j++) {
+			int d = 1 << j;
+			INT_XOR[j] = VectorShuffle.fromOp(INT, i -> i ^ d);
+			for (int k = j + 1; k <= INT_BITS; k++) {
+				INT_MAX[k][j] = VectorMask.fromArray(INT, maxLanes(INT.length(), j, k), 0);
+			}
+		}
+		for (int j = 0; j < LONG_BITS; j++) {
+			int d = 1 << j;
+			LONG_XOR[j] = VectorShuffle.fromOp(LONG, i -> i ^ d);
+			for (int k = j + 1; k <= LONG_BITS; k++) {
+				LONG_MAX[k][j] = VectorMask.fromArray(LONG, maxLanes(LONG.length(), j, k), 0);
+			}
+		}
+	}
+
+	// This class should not be instantiated.
+	private VectorSort() {
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code int} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(int[] a) {
+		int n = a.length;
+		int L = INT.length();
+		if (L < MIN_LANES || n < THRESHOLD) {
+			Quick.sort(a);
+			return;
+		}
+		// pad to a whole number of vectors with the largest key, which sorts
+		// after the real keys (or among equal ones, that cannot be told apart)
+		int m = (n + L - 1) / L * L;
+		int[] src = a;
+		if (m != n) {
+			src = Arrays.copyOf(a, m);
+			Arrays.fill(src, n, m, Integer.MAX_VALUE);
+		}
+		int[] dst = new int[m];
+
+		for (int i = 0; i < m; i += L) {
+			sort(IntVector.fromArray(INT, src, i)).intoArray(src, i);
+		}
+		for (int width = L; width < m; width *= 2) {
+			for (int lo = 0; lo < m; lo += 2 * width) {
+				int mid = Math.min(lo + width, m);
+				int hi = Math.min(lo + 2 * width, m);
+				merge(src, dst, lo, mid, hi);
+			}
+			int[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+		if (src != a)
+			System.arraycopy(src, 0, a, 0, n);
+	}
+
+	/**
+	 * Rearranges the array of primitive {@code long} values in ascending order.
+	 *
+	 * @param a
+	 *            the array to be sorted
+	 */
+	public static void sort(long[] a) {
+		int n = a.length;
+		int L = LONG.length();
+		if (L < MIN_LANES || n < THRESHOLD) {
+			Quick.sort(a);
+			return;
+		}
+		int m = (n + L - 1) / L * L;
+		long[] src = a;
+		if (m != n) {
+			src = Arrays.copyOf(a, m);
+			Arrays.fill(src, n, m, Long.MAX_VALUE);
+		}
+		long[] dst = new long[m];
+
+		for (int i = 0; i < m; i += L) {
+			sort(LongVector.fromArray(LONG, src, i)).intoArray(src, i);
+		}
+		for (int width = L; width < m; width *= 2) {
+			for (int lo = 0; lo < m; lo += 2 * width) {
+				int mid = Math.min(lo + width, m);
+				int hi = Math.min(lo + 2 * width, m);
+				merge(src, dst, lo, mid, hi);
+			}
+			long[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+		if (src != a)
+			System.arraycopy(src, 0, a, 0, n);
+	}
+
+	// merge src[lo..mid) with src[mid..hi) into dst[lo..hi), all the lengths
+	// are multiples of the vector length
+	private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+		// a single run, or runs already in order
+		if (mid == hi || src[mid - 1] <= src[mid]) {
+			System.arraycopy(src, lo, dst, lo, hi - lo);
+			return;
+		}
+		int L = INT.length();
+		int i = lo + L, j = mid, k = lo;
+		IntVector carry = IntVector.fromArray(INT, src, lo);
+		while (i < mid || j < hi) {
+			IntVector next;
+			if (j == hi || (i < mid && src[i] <= src[j])) {
+				next = IntVector.fromArray(INT, src, i);
+				i += L;
+			} else {
+				next = IntVector.fromArray(INT, src, j);
+				j += L;
+			}
+			// carry and the reversed next form a bitonic sequence, min and
+			// max split it into the lower and the upper half
+			IntVector reversed = next.rearrange(INT_REVERSE);
+			clean(carry.min(reversed)).intoArray(dst, k);
+			k += L;
+			carry = clean(carry.max(reversed));
+		}
+		carry.intoArray(dst, k);
+	}
+
+	private static void merge(long[] src, long[] dst, int lo, int mid, int hi) {
+		if (mid == hi || src[mid - 1] <= src[mid]) {
+			System.arraycopy(src, lo, dst, lo, hi - lo);
+			return;
+		}
+		int L = LONG.length();
+		int i = lo + L, j = mid, k = lo;
+		LongVector carry = LongVector.fromArray(LONG, src, lo);
+		while (i < mid || j < hi) {
+			LongVector next;
+			if (j == hi || (i < mid && src[i] <= src[j])) {
+				next = LongVector.fromArray(LONG, src, i);
+				i += L;
+			} else {
+				next = LongVector.fromArray(LONG, src, j);
+				j += L;
+			}
+			LongVector reversed = next.rearrange(LONG_REVERSE);
+			clean(carry.min(reversed)).intoArray(dst, k);
+			k += L;
+			carry = clean(carry.max(reversed));
+		}
+		carry.intoArray(dst, k);
+	}
+
+	// sort the lanes of v with a bitonic sorting network
+	private static IntVector sort(IntVector v) {
+		for (int k = 1; k <= INT_BITS; k++) {
+			for (int j = k - 1; j >= 0; j--) {
+				IntVector partner = v.rearrange(INT_XOR[j]);
+				v = v.min(partner).blend(v.max(partner), INT_MAX[k][j]);
+			}
+		}
+		return v;
+	}
+
+	// sort the lanes of a bitonic v with a bitonic merge network
+	private static IntVector clean(IntVector v) {
+		for (int j = INT_BITS - 1; j >= 0; j--) {
+			IntVector partner = v.rearrange(INT_XOR[j]);
+			v = v.min(partner).blend(v.max(partner), INT_MAX[INT_BITS][j]);
+		}
+		return v;
+	}
+
+	private static LongVector sort(LongVector v) {
+		for (int k = 1; k <= LONG_BITS; k++) {
+			for (int j = k - 1; j >= 0; j--) {
+				LongVector partner = v.rearrange(LONG_XOR[j]);
+				v = v.min(partner).blend(v.max(partner), LONG_MAX[k][j]);
+			}
+		}
+		return v;
+	}
+
+	private static LongVector clean(LongVector v) {
+		for (int j = LONG_BITS - 1; j >= 0; j--) {
+			LongVector partner = v.rearrange(LONG_XOR[j]);
+			v = v.min(partner).blend(v.max(partner), LONG_MAX[LONG_BITS][j]);
+		}
+		return v;
+	}
+
+	// the lanes of a compare-exchange at distance 2^j that take the max: the
+	// upper lane of the pair in the ascending blocks of 2^k lanes (bit k of the
+	// lane is 0), the lower one in the descending blocks
+	private static boolean[] maxLanes(int lanes, int j, int k) {
+		boolean[] max = new boolean[lanes];
+		for (int i = 0; i < lanes; i++) {
+			max[i] = ((i >> j) & 1) != ((i >> k) & 1);
+		}
+		return max;
+	}
+
+	// test
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		java.util.Random random = new java.util.Random();
+		int[] a = new int[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = random.nextInt();
+		}
+		long start = System.nanoTime();
+		sort(a);
+		long end = System.nanoTime();
+		for (int i = 1; i < n; i++) {
+			if (a[i] < a[i - 1])
+				throw new AssertionError("not sorted at " + i);
+		}
+		System.out.println(INT + ": sorted " + n + " ints in " + (end - start) / 1000000 + " ms");
+	}
+
+}
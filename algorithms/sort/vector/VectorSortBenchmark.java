@@ -0,0 +1,97 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of {@link VectorSort} against {@link Quick}, {@link MergeX} and
+ * {@link Arrays#sort(int[])} on uniformly random {@code int} and {@code long}
+ * keys. Every operation sorts a fresh copy of the input. The forked JVM gets
+ * the incubator module, the sources are compiled with it too:
+ *
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp jmh-core.jar:jmh-generator-annprocess.jar -d out ../*.java *.java
+ * java -cp jmh-core.jar:jopt-simple.jar:commons-math3.jar:out org.openjdk.jmh.Main VectorSortBenchmark
+ * </pre>
+ *
+ * @author SylvanasSun
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class VectorSortBenchmark {
+
+	@Param({ "VectorSort", "Quick", "MergeX", "Arrays" })
+	public String algorithm;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	private int[] ints;
+	private long[] longs;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		ints = new int[size];
+		longs = new long[size];
+		for (int i = 0; i < size; i++) {
+			ints[i] = random.nextInt();
+			longs[i] = random.nextLong();
+		}
+	}
+
+	@Benchmark
+	public int[] sortInt() {
+		int[] a = ints.clone();
+		switch (algorithm) {
+		case "VectorSort":
+			VectorSort.sort(a);
+			break;
+		case "Quick":
+			Quick.sort(a);
+			break;
+		case "MergeX":
+			MergeX.sort(a);
+			break;
+		default:
+			Arrays.sort(a);
+		}
+		return a;
+	}
+
+	@Benchmark
+	public long[] sortLong() {
+		long[] a = longs.clone();
+		switch (algorithm) {
+		case "VectorSort":
+			VectorSort.sort(a);
+			break;
+		case "Quick":
+			Quick.sort(a);
+			break;
+		case "MergeX":
+			MergeX.sort(a);
+			break;
+		default:
+			Arrays.sort(a);
+		}
+		return a;
+	}
+
+}